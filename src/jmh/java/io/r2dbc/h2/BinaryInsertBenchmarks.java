@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2;
+
+import io.r2dbc.spi.Blob;
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Benchmarks for inserting small binary values into a BLOB column: as {@link ByteBuffer}, which is encoded inline, as streamed {@link Blob}, which always goes through the LOB
+ * storage, and as {@code byte[]} into a VARBINARY column for reference. The benchmarks use a file database because in-memory databases keep all LOBs inline.
+ */
+@Testable
+public class BinaryInsertBenchmarks extends BenchmarkSettings {
+
+    @State(Scope.Benchmark)
+    public static class ConnectionHolder {
+
+        @Param({"16", "256"})
+        int size;
+
+        byte[] bytes;
+
+        H2Connection connection;
+
+        @Setup
+        public void setup() {
+            this.connection = new H2ConnectionFactory(H2ConnectionConfiguration.builder().file("./target/binary-insert-benchmarks").username("sa").password("").build()).create().block();
+
+            this.bytes = new byte[this.size];
+            for (int i = 0; i < this.bytes.length; i++) {
+                this.bytes[i] = (byte) i;
+            }
+
+            execute(this.connection, "DROP TABLE IF EXISTS binaries");
+            execute(this.connection, "CREATE TABLE binaries (data BLOB, bytes VARBINARY(256))");
+        }
+
+        @TearDown(Level.Iteration)
+        public void truncate() {
+            execute(this.connection, "TRUNCATE TABLE binaries");
+        }
+
+        @TearDown
+        public void tearDown() {
+            execute(this.connection, "DROP TABLE binaries");
+            this.connection.close().block();
+        }
+    }
+
+    @Benchmark
+    public void insertByteBuffer(ConnectionHolder connectionHolder, Blackhole voodoo) {
+        insert(connectionHolder.connection, "INSERT INTO binaries (data) VALUES ($1)", ByteBuffer.wrap(connectionHolder.bytes), voodoo);
+    }
+
+    @Benchmark
+    public void insertBlob(ConnectionHolder connectionHolder, Blackhole voodoo) {
+        insert(connectionHolder.connection, "INSERT INTO binaries (data) VALUES ($1)", Blob.from(Mono.just(ByteBuffer.wrap(connectionHolder.bytes))), voodoo);
+    }
+
+    @Benchmark
+    public void insertVarbinary(ConnectionHolder connectionHolder, Blackhole voodoo) {
+        insert(connectionHolder.connection, "INSERT INTO binaries (bytes) VALUES ($1)", connectionHolder.bytes, voodoo);
+    }
+
+    private static void insert(H2Connection connection, String sql, Object value, Blackhole voodoo) {
+        connection.createStatement(sql).bind("$1", value).execute()
+            .flatMap(H2Result::getRowsUpdated)
+            .doOnNext(voodoo::consume)
+            .blockLast();
+    }
+
+    private static void execute(H2Connection connection, String sql) {
+        Flux.from(connection.createStatement(sql).execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+    }
+}
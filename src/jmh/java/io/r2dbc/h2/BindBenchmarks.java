@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2;
+
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for binding parameters by name and by index, without executing the statement.
+ */
+@Testable
+public class BindBenchmarks extends BenchmarkSettings {
+
+    private static final String SQL = "INSERT INTO bind_test VALUES ($1, $2, $3, $4, $5)";
+
+    private static final String NAMED_SQL = "INSERT INTO bind_test VALUES (:a, :b, :c, :d, :e)";
+
+    @State(Scope.Benchmark)
+    public static class ConnectionHolder {
+
+        final H2Connection r2dbc;
+
+        public ConnectionHolder() {
+            r2dbc = new H2ConnectionFactory(H2ConnectionConfiguration.builder().inMemory("jmh").username("sa").password("").build()).create().block();
+        }
+    }
+
+    @Benchmark
+    public void bindByIndex(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        H2Statement statement = connectionHolder.r2dbc.createStatement(SQL)
+            .bind(0, 1).bind(1, 2).bind(2, 3).bind(3, 4).bind(4, 5);
+
+        voodoo.consume(statement);
+    }
+
+    @Benchmark
+    public void bindByNumberedName(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        H2Statement statement = connectionHolder.r2dbc.createStatement(SQL)
+            .bind("$1", 1).bind("$2", 2).bind("$3", 3).bind("$4", 4).bind("$5", 5);
+
+        voodoo.consume(statement);
+    }
+
+    @Benchmark
+    public void bindByName(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        H2Statement statement = connectionHolder.r2dbc.createStatement(NAMED_SQL)
+            .bind("a", 1).bind("b", 2).bind("c", 3).bind("d", 4).bind("e", 5);
+
+        voodoo.consume(statement);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2;
+
+import io.r2dbc.h2.codecs.H2Blob;
+import io.r2dbc.spi.Blob;
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Benchmarks for reading a BLOB column as {@link ByteBuffer} and as streamed {@link Blob}. Run with {@code -prof gc} to compare the allocation rate per operation.
+ */
+@Testable
+public class BlobBenchmarks extends BenchmarkSettings {
+
+    @State(Scope.Benchmark)
+    public static class ConnectionHolder {
+
+        @Param({"1024", "1048576", "67108864"})
+        int size;
+
+        H2Connection connection;
+
+        @Setup
+        public void setup() {
+            this.connection = new H2ConnectionFactory(H2ConnectionConfiguration.builder().inMemory("blob-benchmarks").username("sa").password("").build()).create().block();
+
+            byte[] bytes = new byte[this.size];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) i;
+            }
+
+            Flux.from(this.connection.createStatement("DROP TABLE IF EXISTS blobs").execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+            Flux.from(this.connection.createStatement("CREATE TABLE blobs (data BLOB)").execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+            Flux.from(this.connection.createStatement("INSERT INTO blobs VALUES ($1)").bind("$1", Blob.from(Mono.just(ByteBuffer.wrap(bytes)))).execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+        }
+
+        @TearDown
+        public void tearDown() {
+            this.connection.close().block();
+        }
+    }
+
+    @Benchmark
+    public void readByteBuffer(ConnectionHolder connectionHolder, Blackhole voodoo) {
+        connectionHolder.connection.createStatement("SELECT data FROM blobs").execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, ByteBuffer.class)))
+            .doOnNext(voodoo::consume)
+            .blockLast();
+    }
+
+    @Benchmark
+    public void streamBlob(ConnectionHolder connectionHolder, Blackhole voodoo) {
+        connectionHolder.connection.createStatement("SELECT data FROM blobs").execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Blob.class)))
+            .concatMap(Blob::stream)
+            .doOnNext(voodoo::consume)
+            .blockLast();
+    }
+
+    @Benchmark
+    public void streamBlobRecycled(ConnectionHolder connectionHolder, Blackhole voodoo) {
+        connectionHolder.connection.createStatement("SELECT data FROM blobs").execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> (H2Blob) row.get(0, Blob.class)))
+            .concatMap(blob -> blob.stream(H2Blob.DEFAULT_CHUNK_SIZE, true)
+                .doOnNext(chunk -> {
+                    voodoo.consume(chunk);
+                    blob.release(chunk);
+                }))
+            .blockLast();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2;
+
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the latency of creating and closing a connection against an embedded database that is kept open by the connection factory.
+ */
+@Testable
+public class ConnectionBenchmarks extends BenchmarkSettings {
+
+    @State(Scope.Benchmark)
+    public static class ConnectionFactoryHolder {
+
+        CloseableConnectionFactory connectionFactory;
+
+        @Setup
+        public void setup() {
+            this.connectionFactory = H2ConnectionFactory.inMemory("connection-benchmarks");
+        }
+
+        @TearDown
+        public void tearDown() {
+            this.connectionFactory.close().block();
+        }
+    }
+
+    @Benchmark
+    public void createAndClose(ConnectionFactoryHolder connectionFactoryHolder, Blackhole voodoo) {
+        connectionFactoryHolder.connectionFactory.create()
+            .doOnNext(voodoo::consume)
+            .flatMap(connection -> connection.close())
+            .block();
+    }
+
+    @Benchmark
+    public void createReadVersionAndClose(ConnectionFactoryHolder connectionFactoryHolder, Blackhole voodoo) {
+        connectionFactoryHolder.connectionFactory.create()
+            .doOnNext(connection -> voodoo.consume(connection.getMetadata().getDatabaseVersion()))
+            .flatMap(connection -> connection.close())
+            .block();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2;
+
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for many concurrent connections running their session work on platform threads ({@code boundedElastic}) versus virtual threads. On JVMs without virtual
+ * threads both modes use the platform thread pool.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Testable
+public class ExecutionModeBenchmarks extends BenchmarkSettings {
+
+    @State(Scope.Benchmark)
+    public static class ConnectionHolder {
+
+        @Param({"false", "true"})
+        boolean virtualThreads;
+
+        @Param({"100", "1000"})
+        int connections;
+
+        H2ConnectionFactory connectionFactory;
+
+        List<H2Connection> r2dbc;
+
+        @Setup
+        public void setup() {
+            connectionFactory = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                .inMemory("jmh")
+                .option("DB_CLOSE_DELAY=-1")
+                .username("sa")
+                .password("")
+                .virtualThreads(virtualThreads)
+                .build());
+
+            r2dbc = Flux.range(0, connections).flatMap(i -> connectionFactory.create()).collectList().block();
+
+            r2dbc.get(0).createStatement("CREATE TABLE IF NOT EXISTS execution_mode (id INT PRIMARY KEY, name VARCHAR(255))").execute()
+                .flatMap(H2Result::getRowsUpdated)
+                .then(r2dbc.get(0).createStatement("MERGE INTO execution_mode VALUES (1, 'foo')").execute().flatMap(H2Result::getRowsUpdated).then())
+                .block();
+        }
+
+        @TearDown
+        public void tearDown() {
+            Flux.fromIterable(r2dbc).flatMap(H2Connection::close).blockLast();
+        }
+    }
+
+    @Benchmark
+    public void concurrentQueries(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        String name = Flux.fromIterable(connectionHolder.r2dbc)
+            .flatMap(connection -> connection.createStatement("SELECT name FROM execution_mode WHERE id = $1").bind("$1", 1).execute()
+                .flatMap(it -> it.map((row, rowMetadata) -> row.get("name", String.class))), connectionHolder.connections)
+            .blockLast();
+
+        voodoo.consume(name);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2;
+
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Benchmarks for acquiring and releasing pooled connections from several threads competing for fewer sessions than threads, compared to opening a session per connection.
+ */
+@Testable
+@Threads(8)
+public class PooledConnectionBenchmarks extends BenchmarkSettings {
+
+    @State(Scope.Benchmark)
+    public static class ConnectionFactoryHolder {
+
+        @Param({"2", "8"})
+        int maxSize;
+
+        H2PooledConnectionFactory pooledConnectionFactory;
+
+        CloseableConnectionFactory connectionFactory;
+
+        @Setup
+        public void setup() {
+            H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
+                .inMemory("pooled-connection-benchmarks")
+                .property(H2ConnectionOption.DB_CLOSE_DELAY, "-1")
+                .username("sa")
+                .scheduler(Schedulers.immediate())
+                .build();
+
+            this.pooledConnectionFactory = H2PooledConnectionFactory.builder(configuration).minSize(this.maxSize).maxSize(this.maxSize).build();
+            this.pooledConnectionFactory.warmup().block();
+            this.connectionFactory = H2ConnectionFactory.inMemory("pooled-connection-benchmarks");
+        }
+
+        @TearDown
+        public void tearDown() {
+            this.pooledConnectionFactory.close().block();
+            this.connectionFactory.close().block();
+        }
+    }
+
+    @Benchmark
+    public void pooledAcquireAndRelease(ConnectionFactoryHolder connectionFactoryHolder, Blackhole voodoo) {
+        connectionFactoryHolder.pooledConnectionFactory.create()
+            .doOnNext(voodoo::consume)
+            .flatMap(connection -> connection.close())
+            .block();
+    }
+
+    @Benchmark
+    public void unpooledCreateAndClose(ConnectionFactoryHolder connectionFactoryHolder, Blackhole voodoo) {
+        connectionFactoryHolder.connectionFactory.create()
+            .doOnNext(voodoo::consume)
+            .flatMap(connection -> connection.close())
+            .block();
+    }
+}
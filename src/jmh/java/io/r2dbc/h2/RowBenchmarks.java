@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2;
+
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+/**
+ * Benchmarks for mapping rows of wide results and for reading numeric columns with and without boxing. Run with {@code -prof gc} to compare the allocation rate per operation.
+ */
+@Testable
+public class RowBenchmarks extends BenchmarkSettings {
+
+    @State(Scope.Benchmark)
+    public static class ConnectionHolder {
+
+        @Param({"5", "50"})
+        int columns;
+
+        @Param({"100"})
+        int rows;
+
+        H2Connection connection;
+
+        String sql;
+
+        @Setup
+        public void setup() {
+            this.connection = new H2ConnectionFactory(H2ConnectionConfiguration.builder().inMemory("row-benchmarks").username("sa").password("").build()).create().block();
+
+            StringBuilder create = new StringBuilder("CREATE TABLE wide (");
+            StringBuilder insert = new StringBuilder("INSERT INTO wide SELECT ");
+
+            for (int i = 0; i < this.columns; i++) {
+                create.append(i == 0 ? "" : ", ").append("col").append(i).append(" BIGINT");
+                insert.append(i == 0 ? "" : ", ").append("x + ").append(i);
+            }
+
+            Flux.from(this.connection.createStatement("DROP TABLE IF EXISTS wide").execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+            Flux.from(this.connection.createStatement(create.append(")").toString()).execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+            Flux.from(this.connection.createStatement(insert.append(" FROM SYSTEM_RANGE(1, ").append(this.rows).append(")").toString()).execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+
+            this.sql = "SELECT * FROM wide";
+        }
+
+        @TearDown
+        public void tearDown() {
+            this.connection.close().block();
+        }
+    }
+
+    @Benchmark
+    public void mapByIndex(ConnectionHolder connectionHolder, Blackhole voodoo) {
+        int last = connectionHolder.columns - 1;
+
+        connectionHolder.connection.createStatement(connectionHolder.sql).execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(last, Long.class)))
+            .doOnNext(voodoo::consume)
+            .blockLast();
+    }
+
+    @Benchmark
+    public void mapByName(ConnectionHolder connectionHolder, Blackhole voodoo) {
+        String last = "col" + (connectionHolder.columns - 1);
+
+        connectionHolder.connection.createStatement(connectionHolder.sql).execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(last, Long.class)))
+            .doOnNext(voodoo::consume)
+            .blockLast();
+    }
+
+    @Benchmark
+    public void sumBoxed(ConnectionHolder connectionHolder, Blackhole voodoo) {
+        int columns = connectionHolder.columns;
+
+        connectionHolder.connection.createStatement(connectionHolder.sql).execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> {
+                long sum = 0;
+                for (int i = 0; i < columns; i++) {
+                    sum += row.get(i, Long.class);
+                }
+                return sum;
+            }))
+            .doOnNext(voodoo::consume)
+            .blockLast();
+    }
+
+    @Benchmark
+    public void sumPrimitive(ConnectionHolder connectionHolder, Blackhole voodoo) {
+        int columns = connectionHolder.columns;
+
+        connectionHolder.connection.createStatement(connectionHolder.sql).execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> {
+                H2Row h2Row = (H2Row) row;
+                long sum = 0;
+                for (int i = 0; i < columns; i++) {
+                    sum += h2Row.getLong(i);
+                }
+                return sum;
+            }))
+            .doOnNext(voodoo::consume)
+            .blockLast();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2;
+
+import io.r2dbc.spi.ValidationDepth;
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the cost of {@link H2Connection#validate(ValidationDepth) validating} a connection, as pools do on every borrow.
+ */
+@Testable
+public class ValidationBenchmarks extends BenchmarkSettings {
+
+    @State(Scope.Benchmark)
+    public static class ConnectionHolder {
+
+        H2Connection connection;
+
+        @Setup
+        public void setup() {
+            this.connection = new H2ConnectionFactory(H2ConnectionConfiguration.builder().inMemory("validation-benchmarks").username("sa").password("").build()).create().block();
+        }
+
+        @TearDown
+        public void tearDown() {
+            this.connection.close().block();
+        }
+    }
+
+    @Benchmark
+    public void validateLocal(ConnectionHolder connectionHolder, Blackhole voodoo) {
+        voodoo.consume(connectionHolder.connection.validate(ValidationDepth.LOCAL).block());
+    }
+
+    @Benchmark
+    public void validateRemote(ConnectionHolder connectionHolder, Blackhole voodoo) {
+        voodoo.consume(connectionHolder.connection.validate(ValidationDepth.REMOTE).block());
+    }
+}
@@ -52,7 +52,7 @@ public final class H2Batch implements Batch {
     @Override
     public Flux<H2Result> execute() {
         return Flux.fromIterable(this.statements)
-            .flatMap(it -> new H2Statement(this.client, this.codecs, it).doExecute(H2Statement.Bindings.EMPTY));
+            .concatMap(it -> new H2Statement(this.client, this.codecs, it).doExecute(H2Statement.Bindings.EMPTY));
     }
 
 }
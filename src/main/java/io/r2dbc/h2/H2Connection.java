@@ -26,6 +26,7 @@ import io.r2dbc.spi.TransactionDefinition;
 import io.r2dbc.spi.ValidationDepth;
 import org.h2.command.CommandInterface;
 import org.h2.engine.Constants;
+import org.h2.engine.Session;
 import org.h2.message.DbException;
 import org.h2.result.ResultInterface;
 import org.reactivestreams.Publisher;
@@ -33,10 +34,12 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.Logger;
 import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
 
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 import static io.r2dbc.spi.IsolationLevel.READ_COMMITTED;
@@ -52,6 +55,8 @@ import static org.h2.engine.Constants.LOCK_MODE_TABLE;
  */
 public final class H2Connection implements Connection {
 
+    private static final String VALIDATION_QUERY = "SELECT 1";
+
     private final Logger logger = Loggers.getLogger(this.getClass());
 
     private final Client client;
@@ -62,25 +67,62 @@ public final class H2Connection implements Connection {
 
     private IsolationLevel isolationLevel;
 
+    @Nullable
+    private Duration previousLockTimeout;
+
+    @Nullable
+    private Duration previousStatementTimeout;
+
+    /**
+     * Creates a new connection, resolving the database version from the session of {@code client}. This queries a remote database, see
+     * {@link #resolveDatabaseVersion(Client, AtomicReference)}.
+     *
+     * @param client the client to use
+     * @param codecs the codecs to use
+     */
     H2Connection(Client client, Codecs codecs) {
+        this(client, codecs, resolveDatabaseVersion(Assert.requireNonNull(client, "client must not be null"), new AtomicReference<>()));
+    }
+
+    /**
+     * Creates a new connection.
+     *
+     * @param client          the client to use
+     * @param codecs          the codecs to use
+     * @param databaseVersion the version of the database, see {@link #resolveDatabaseVersion(Client, AtomicReference)}
+     */
+    H2Connection(Client client, Codecs codecs, String databaseVersion) {
 
         this.client = Assert.requireNonNull(client, "client must not be null");
         this.codecs = Assert.requireNonNull(codecs, "codecs must not be null");
         this.isolationLevel = IsolationLevel.READ_COMMITTED;
+        this.metadata = new H2ConnectionMetadata(Assert.requireNonNull(databaseVersion, "databaseVersion must not be null"));
+    }
 
-        String version = Constants.VERSION;
-        Iterator<CommandInterface> commands = client.prepareCommand("CALL H2VERSION()", Collections.emptyList());
+    /**
+     * Resolve the version of the database {@code client} is connected to. Embedded databases always run {@link Constants#VERSION}. The version of a remote database is queried
+     * once and then kept in {@code serverVersion}, which connection factories share between the connections they create. Querying blocks, so connection factories resolve the
+     * version on the {@link Client#getScheduler() client's scheduler} before handing out the connection.
+     *
+     * @param client        the client of the new connection
+     * @param serverVersion holder of the database version of a remote database
+     * @return the database version
+     */
+    static String resolveDatabaseVersion(Client client, AtomicReference<String> serverVersion) {
+        Session session = client.getSession();
+
+        if (session == null || !session.isRemote()) {
+            return Constants.VERSION;
+        }
 
-        if (commands.hasNext()) {
+        String version = serverVersion.get();
 
-            CommandInterface command = commands.next();
-            ResultInterface query = client.query(command);
-            query.next();
-            version = query.currentRow()[0].getString();
-            query.close();
+        if (version == null) {
+            version = queryDatabaseVersion(client);
+            serverVersion.compareAndSet(null, version);
         }
 
-        this.metadata = new H2ConnectionMetadata(version);
+        return version;
     }
 
     @Override
@@ -95,6 +137,8 @@ public final class H2Connection implements Connection {
 
                 IsolationLevel isolationLevel = definition.getAttribute(TransactionDefinition.ISOLATION_LEVEL);
                 Boolean readOnly = definition.getAttribute(TransactionDefinition.READ_ONLY);
+                Duration lockWaitTimeout = definition.getAttribute(TransactionDefinition.LOCK_WAIT_TIMEOUT);
+                Duration statementTimeout = definition.getAttribute(H2TransactionDefinition.STATEMENT_TIMEOUT);
 
                 Mono<Void> startTransaction = Mono.fromRunnable(this.client::disableAutoCommit);
 
@@ -102,6 +146,20 @@ public final class H2Connection implements Connection {
                     startTransaction = startTransaction.then(setTransactionIsolationLevel(isolationLevel));
                 }
 
+                if (lockWaitTimeout != null) {
+                    startTransaction = startTransaction.then(Mono.fromRunnable(() -> {
+                        this.previousLockTimeout = this.client.getLockTimeout();
+                        this.client.setLockTimeout(lockWaitTimeout);
+                    }));
+                }
+
+                if (statementTimeout != null) {
+                    startTransaction = startTransaction.then(Mono.fromRunnable(() -> {
+                        this.previousStatementTimeout = this.client.getStatementTimeout();
+                        this.client.setStatementTimeout(statementTimeout);
+                    }));
+                }
+
                 if (readOnly != null) {
                     this.logger.debug(TransactionDefinition.READ_ONLY + " isn't supported in H2 at the transaction level. " +
                         "You must set it on the connection URL. See http://www.h2database.com/html/features.html#read_only");
@@ -126,8 +184,13 @@ public final class H2Connection implements Connection {
     public Mono<Void> commitTransaction() {
         return useTransactionStatus(inTransaction -> {
             if (inTransaction) {
-                this.client.execute("COMMIT");
-                this.client.enableAutoCommit();
+                try {
+                    this.client.commit();
+                    this.client.enableAutoCommit();
+                } finally {
+                    // the timeouts are scoped to the transaction even if it failed to complete
+                    restoreTimeouts();
+                }
             } else {
                 this.logger.debug("Skipping commit transaction because no transaction in progress.");
             }
@@ -147,7 +210,7 @@ public final class H2Connection implements Connection {
         Assert.requireNonNull(name, "name must not be null");
 
         return beginTransaction()
-            .then(Mono.<Void>fromRunnable(() -> this.client.execute(String.format("SAVEPOINT %s", name))))
+            .then(Mono.<Void>fromRunnable(() -> this.client.createSavepoint(name)).subscribeOn(this.client.getScheduler()))
             .onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert);
     }
 
@@ -177,7 +240,7 @@ public final class H2Connection implements Connection {
 
         return useTransactionStatus(inTransaction -> {
             if (inTransaction) {
-                this.client.execute(String.format("RELEASE SAVEPOINT %s", name));
+                this.client.releaseSavepoint(name);
             } else {
                 this.logger.debug("Skipping release savepoint because no transaction in progress.");
             }
@@ -191,8 +254,12 @@ public final class H2Connection implements Connection {
     public Mono<Void> rollbackTransaction() {
         return useTransactionStatus(inTransaction -> {
             if (inTransaction) {
-                this.client.execute("ROLLBACK");
-                this.client.enableAutoCommit();
+                try {
+                    this.client.rollback();
+                    this.client.enableAutoCommit();
+                } finally {
+                    restoreTimeouts();
+                }
             } else {
                 this.logger.debug("Skipping rollback because no transaction in progress.");
             }
@@ -207,7 +274,7 @@ public final class H2Connection implements Connection {
 
         return useTransactionStatus(inTransaction -> {
             if (inTransaction) {
-                this.client.execute(String.format("ROLLBACK TO SAVEPOINT %s", name));
+                this.client.rollbackToSavepoint(name);
             } else {
                 this.logger.debug("Skipping rollback to savepoint because no transaction in progress.");
             }
@@ -219,17 +286,41 @@ public final class H2Connection implements Connection {
 
     @Override
     public Mono<Void> setAutoCommit(boolean autoCommit) {
-        return Mono.fromRunnable(() -> this.client.getSession().setAutoCommit(autoCommit));
+        return Mono.<Void>fromRunnable(() -> this.client.getSession().setAutoCommit(autoCommit))
+            .subscribeOn(this.client.getScheduler());
     }
 
+    /**
+     * Configure the lock wait timeout through H2's {@code LOCK_TIMEOUT} setting. A transaction with a {@link TransactionDefinition#LOCK_WAIT_TIMEOUT} overrides it until
+     * the transaction completes.
+     *
+     * @param timeout the lock wait timeout
+     * @return a {@link Mono} that indicates that the timeout is configured
+     * @throws IllegalArgumentException if {@code timeout} is {@code null} or negative
+     */
     @Override
-    public Mono<Void> setLockWaitTimeout(Duration duration) {
-        return Mono.empty();
+    public Mono<Void> setLockWaitTimeout(Duration timeout) {
+        assertTimeout(timeout);
+
+        return Mono.<Void>fromRunnable(() -> this.client.setLockTimeout(timeout))
+            .subscribeOn(this.client.getScheduler())
+            .onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert);
     }
 
+    /**
+     * Configure the statement timeout. Statements that run longer are cancelled and fail with {@link io.r2dbc.spi.R2dbcTimeoutException}. {@link Duration#ZERO} disables
+     * the timeout. A transaction with a {@link H2TransactionDefinition#STATEMENT_TIMEOUT} overrides it until the transaction completes. A query that streams its result, see
+     * {@link H2Statement#fetchSize(int)}, is timed out until its result is consumed or cancelled.
+     *
+     * @param timeout the statement timeout
+     * @return a {@link Mono} that indicates that the timeout is configured
+     * @throws IllegalArgumentException if {@code timeout} is {@code null} or negative
+     */
     @Override
-    public Mono<Void> setStatementTimeout(Duration duration) {
-        return Mono.empty();
+    public Mono<Void> setStatementTimeout(Duration timeout) {
+        assertTimeout(timeout);
+
+        return Mono.fromRunnable(() -> this.client.setStatementTimeout(timeout));
     }
 
     @Override
@@ -237,6 +328,7 @@ public final class H2Connection implements Connection {
         Assert.requireNonNull(isolationLevel, "isolationLevel must not be null");
 
         return Mono.<Void>fromRunnable(() -> this.client.execute(getTransactionIsolationLevelQuery(isolationLevel)))
+            .subscribeOn(this.client.getScheduler())
             .doOnSuccess(aVoid -> {
                 this.isolationLevel = isolationLevel;
             })
@@ -244,7 +336,8 @@ public final class H2Connection implements Connection {
     }
 
     /**
-     * Validates the connection according to the given {@link ValidationDepth}.
+     * Validates the connection according to the given {@link ValidationDepth}. {@link ValidationDepth#LOCAL} only checks that the session is open,
+     * {@link ValidationDepth#REMOTE} additionally runs a cached {@code SELECT 1} against the database.
      *
      * @param depth the validation depth
      * @return a {@link Publisher} that indicates whether the validation was successful
@@ -254,16 +347,74 @@ public final class H2Connection implements Connection {
     public Mono<Boolean> validate(ValidationDepth depth) {
         Assert.requireNonNull(depth, "depth must not be null");
 
-        return Mono.fromCallable(() -> {
-                if (this.client.getSession().isClosed()) {
-                    return false;
-                }
+        Mono<Boolean> validation;
 
-                this.client.query(this.client.prepareCommand("SELECT CURRENT_TIMESTAMP", Collections.emptyList()).next());
+        if (depth == ValidationDepth.LOCAL) {
+            validation = Mono.fromSupplier(() -> !this.client.getSession().isClosed());
+        } else {
+            validation = Mono.fromCallable(() -> {
+                    if (this.client.getSession().isClosed()) {
+                        return false;
+                    }
+
+                    CommandInterface command = this.client.prepareCommand(VALIDATION_QUERY, Collections.emptyList()).next();
+                    try {
+                        this.client.query(command).close();
+                    } finally {
+                        this.client.releaseCommand(command);
+                    }
+
+                    return true;
+                })
+                .subscribeOn(this.client.getScheduler());
+        }
 
-                return true;
-            })
-            .switchIfEmpty(Mono.just(false));
+        return validation.onErrorResume(e -> {
+            this.logger.debug("Validation failed", e);
+            return Mono.just(false);
+        });
+    }
+
+    private static void assertTimeout(Duration timeout) {
+        Assert.requireNonNull(timeout, "timeout must not be null");
+        Assert.requireTrue(!timeout.isNegative(), "timeout must not be negative");
+    }
+
+    private void restoreTimeouts() {
+        if (this.previousLockTimeout != null) {
+            this.client.setLockTimeout(this.previousLockTimeout);
+            this.previousLockTimeout = null;
+        }
+
+        if (this.previousStatementTimeout != null) {
+            this.client.setStatementTimeout(this.previousStatementTimeout);
+            this.previousStatementTimeout = null;
+        }
+    }
+
+    private static String queryDatabaseVersion(Client client) {
+        String version = Constants.VERSION;
+
+        try {
+            Iterator<CommandInterface> commands = client.prepareCommand("CALL H2VERSION()", Collections.emptyList());
+
+            if (commands.hasNext()) {
+
+                CommandInterface command = commands.next();
+                try {
+                    ResultInterface query = client.query(command);
+                    query.next();
+                    version = query.currentRow()[0].getString();
+                    query.close();
+                } finally {
+                    client.releaseCommand(command);
+                }
+            }
+        } catch (DbException e) {
+            throw H2DatabaseExceptionFactory.convert(e);
+        }
+
+        return version;
     }
 
     private static String getTransactionIsolationLevelQuery(IsolationLevel isolationLevel) {
@@ -280,6 +431,7 @@ public final class H2Connection implements Connection {
 
     private Mono<Void> useTransactionStatus(Function<Boolean, Publisher<?>> f) {
         return Flux.defer(() -> f.apply(this.client.inTransaction()))
+            .subscribeOn(this.client.getScheduler())
             .onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert)
             .then();
     }
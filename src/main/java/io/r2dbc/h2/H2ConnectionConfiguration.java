@@ -16,9 +16,12 @@
 
 package io.r2dbc.h2;
 
+import io.r2dbc.h2.client.SessionClient;
 import io.r2dbc.h2.util.Assert;
 import org.h2.engine.ConnectionInfo;
 import org.h2.message.DbException;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.annotation.Nullable;
 
 import java.util.ArrayList;
@@ -43,11 +46,18 @@ public final class H2ConnectionConfiguration {
 
     private final Map<String, String> properties;
 
-    private H2ConnectionConfiguration(@Nullable CharSequence password, String url, @Nullable String username, Map<String, String> properties) {
+    private final int commandCacheSize;
+
+    private final Scheduler scheduler;
+
+    private H2ConnectionConfiguration(@Nullable CharSequence password, String url, @Nullable String username, Map<String, String> properties, int commandCacheSize,
+                                      Scheduler scheduler) {
         this.password = password;
         this.url = Assert.requireNonNull(url, "url must not be null");
         this.username = username;
         this.properties = Assert.requireNonNull(properties, "properties must not be null");
+        this.commandCacheSize = commandCacheSize;
+        this.scheduler = Assert.requireNonNull(scheduler, "scheduler must not be null");
     }
 
     /**
@@ -78,13 +88,19 @@ public final class H2ConnectionConfiguration {
     @Override
     public String toString() {
         return "H2ConnectionConfiguration{" +
-            "password='REDACTED'" +
+            "commandCacheSize=" + this.commandCacheSize +
+            ", password='REDACTED'" +
             ", properties='" + this.properties + '\'' +
+            ", scheduler=" + this.scheduler +
             ", url='" + this.url + '\'' +
             ", username='" + this.username + '\'' +
             '}';
     }
 
+    int getCommandCacheSize() {
+        return this.commandCacheSize;
+    }
+
     Optional<CharSequence> getPassword() {
         return Optional.ofNullable(this.password);
     }
@@ -97,6 +113,10 @@ public final class H2ConnectionConfiguration {
         return this.properties;
     }
 
+    Scheduler getScheduler() {
+        return this.scheduler;
+    }
+
     Optional<String> getUsername() {
         return Optional.ofNullable(this.username);
     }
@@ -108,30 +128,57 @@ public final class H2ConnectionConfiguration {
      */
     public static final class Builder {
 
+        private int commandCacheSize = SessionClient.DEFAULT_COMMAND_CACHE_SIZE;
+
         private List<String> options = new ArrayList<>();
 
         private Map<String, String> properties = new LinkedHashMap<>();
 
         private CharSequence password;
 
+        private Scheduler scheduler;
+
         private String url;
 
         private String username;
 
+        private boolean virtualThreads;
+
         /**
          * Returns a configured {@link H2ConnectionConfiguration}.
          *
          * @return a configured {@link H2ConnectionConfiguration}
          */
         public H2ConnectionConfiguration build() {
+            Assert.requireTrue(this.scheduler == null || !this.virtualThreads, "Configure either a scheduler or virtual threads, not both");
+
+            Scheduler scheduler = this.scheduler;
+            if (scheduler == null) {
+                scheduler = this.virtualThreads && VirtualThreads.isAvailable() ? VirtualThreads.getScheduler() : Schedulers.boundedElastic();
+            }
+
             if (this.options.isEmpty()) {
-                return new H2ConnectionConfiguration(this.password, this.url, this.username, this.properties);
+                return new H2ConnectionConfiguration(this.password, this.url, this.username, this.properties, this.commandCacheSize, scheduler);
             }
 
             String urlWithOptions = this.options.stream()
                 .reduce(this.url, (url, option) -> url += ";" + option);
 
-            return new H2ConnectionConfiguration(this.password, urlWithOptions, this.username, this.properties);
+            return new H2ConnectionConfiguration(this.password, urlWithOptions, this.username, this.properties, this.commandCacheSize, scheduler);
+        }
+
+        /**
+         * Configure the maximum number of prepared commands cached per connection. Cached commands are reused across executions of the same SQL instead of being parsed and
+         * planned again. Defaults to {@value SessionClient#DEFAULT_COMMAND_CACHE_SIZE}.
+         *
+         * @param commandCacheSize the maximum number of cached commands, {@code 0} to disable caching
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if {@code commandCacheSize} is negative
+         */
+        public Builder commandCacheSize(int commandCacheSize) {
+            Assert.requireTrue(commandCacheSize >= 0, "commandCacheSize must be greater or equal to zero");
+            this.commandCacheSize = commandCacheSize;
+            return this;
         }
 
         /**
@@ -226,13 +273,45 @@ public final class H2ConnectionConfiguration {
             return this;
         }
 
+        /**
+         * Configure the {@link Scheduler} that all blocking work against the H2 session (connecting, executing statements, fetching rows, transaction control) is moved onto,
+         * so it never runs on the subscribing thread, e.g. an event loop. Defaults to {@link Schedulers#boundedElastic()}.
+         * <p>
+         * The scheduler is not disposed when connections or the connection factory are closed.
+         *
+         * @param scheduler the scheduler, {@link Schedulers#immediate()} to run on the subscribing thread
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if {@code scheduler} is {@code null}
+         */
+        public Builder scheduler(Scheduler scheduler) {
+            this.scheduler = Assert.requireNonNull(scheduler, "scheduler must not be null");
+            return this;
+        }
+
+        /**
+         * Configure whether blocking work against the H2 session runs on virtual threads instead of the default {@link Schedulers#boundedElastic() bounded pool}. Idle
+         * connections then cost no platform thread while H2 waits on locks or disk. Virtual threads are detected at runtime: on JVMs older than Java 21 this setting falls back
+         * to the default scheduler.
+         *
+         * @param virtualThreads {@code true} to run session work on virtual threads
+         * @return this {@link Builder}
+         * @see #scheduler(Scheduler)
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
         @Override
         public String toString() {
             return "Builder{" +
-                "password='REDACTED'" +
+                "commandCacheSize=" + this.commandCacheSize +
+                ", password='REDACTED'" +
                 ", properties='" + this.properties + '\'' +
+                ", scheduler=" + this.scheduler +
                 ", url='" + this.url + '\'' +
                 ", username='" + this.username + '\'' +
+                ", virtualThreads=" + this.virtualThreads +
                 '}';
         }
 
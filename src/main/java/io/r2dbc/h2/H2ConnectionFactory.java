@@ -19,6 +19,7 @@ package io.r2dbc.h2;
 import io.r2dbc.h2.H2DatabaseExceptionFactory.H2R2dbcNonTransientResourceException;
 import io.r2dbc.h2.client.Client;
 import io.r2dbc.h2.client.SessionClient;
+import io.r2dbc.h2.codecs.CodecRegistry;
 import io.r2dbc.h2.codecs.DefaultCodecs;
 import io.r2dbc.h2.util.Assert;
 import io.r2dbc.spi.Closeable;
@@ -29,6 +30,7 @@ import reactor.core.publisher.Mono;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 
@@ -39,6 +41,10 @@ public final class H2ConnectionFactory implements ConnectionFactory {
 
     private final Mono<? extends Client> clientFactory;
 
+    private final CodecRegistry codecRegistry = new CodecRegistry(H2ConnectionFactory.class.getClassLoader());
+
+    private final AtomicReference<String> serverVersion = new AtomicReference<>();
+
     /**
      * Creates a new connection factory.
      *
@@ -48,7 +54,7 @@ public final class H2ConnectionFactory implements ConnectionFactory {
     public H2ConnectionFactory(H2ConnectionConfiguration configuration) {
         this(Mono.fromSupplier(() -> {
             return getSessionClient(configuration, false);
-        }));
+        }).subscribeOn(Assert.requireNonNull(configuration, "configuration must not be null").getScheduler()));
     }
 
     /**
@@ -107,11 +113,11 @@ public final class H2ConnectionFactory implements ConnectionFactory {
         return new DefaultCloseableConnectionFactory(builder.build());
     }
 
-    private static SessionClient getSessionClient(H2ConnectionConfiguration configuration, boolean shutdownDatabaseOnClose) {
+    static SessionClient getSessionClient(H2ConnectionConfiguration configuration, boolean shutdownDatabaseOnClose) {
         Assert.requireNonNull(configuration, "configuration must not be null");
 
         try {
-            return new SessionClient(configuration.getConnectionInfo(), shutdownDatabaseOnClose);
+            return new SessionClient(configuration.getConnectionInfo(), shutdownDatabaseOnClose, configuration.getCommandCacheSize(), configuration.getScheduler());
         } catch (DbException e) {
             throw H2DatabaseExceptionFactory.convert(e);
         }
@@ -124,7 +130,9 @@ public final class H2ConnectionFactory implements ConnectionFactory {
     @Override
     public Mono<H2Connection> create() {
         return this.clientFactory
-            .map(client -> new H2Connection(client, new DefaultCodecs(client)));
+            .flatMap(client -> Mono.fromSupplier(() -> new H2Connection(client, new DefaultCodecs(client, this.codecRegistry), H2Connection.resolveDatabaseVersion(client, this.serverVersion)))
+                .subscribeOn(client.getScheduler())
+                .onErrorResume(e -> client.close().then(Mono.error(e))));
     }
 
     @Override
@@ -145,6 +153,10 @@ public final class H2ConnectionFactory implements ConnectionFactory {
 
         private final Supplier<SessionClient> clientFactory;
 
+        private final CodecRegistry codecRegistry = new CodecRegistry(H2ConnectionFactory.class.getClassLoader());
+
+        private final AtomicReference<String> serverVersion = new AtomicReference<>();
+
         private volatile SessionClient persistentConnection;
 
         public DefaultCloseableConnectionFactory(H2ConnectionConfiguration configuration) {
@@ -177,8 +189,8 @@ public final class H2ConnectionFactory implements ConnectionFactory {
                 }
 
                 Client client = this.clientFactory.get();
-                return new H2Connection(client, new DefaultCodecs(client));
-            });
+                return new H2Connection(client, new DefaultCodecs(client, this.codecRegistry), H2Connection.resolveDatabaseVersion(client, this.serverVersion));
+            }).subscribeOn(this.configuration.getScheduler());
         }
 
         @Override
@@ -0,0 +1,762 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2;
+
+import io.r2dbc.h2.H2DatabaseExceptionFactory.H2R2dbcNonTransientResourceException;
+import io.r2dbc.h2.client.Binding;
+import io.r2dbc.h2.client.Client;
+import io.r2dbc.h2.client.SessionClient;
+import io.r2dbc.h2.codecs.CodecRegistry;
+import io.r2dbc.h2.codecs.DefaultCodecs;
+import io.r2dbc.h2.util.Assert;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import org.h2.command.CommandInterface;
+import org.h2.engine.IsolationLevel;
+import org.h2.engine.Session;
+import org.h2.result.ResultInterface;
+import org.h2.result.ResultWithGeneratedKeys;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link CloseableConnectionFactory} that keeps a pool of H2 sessions and hands them out as {@link H2Connection}s.
+ * <p>
+ * {@link #create()} never blocks: it takes an idle session, opens a new one while fewer than {@link Builder#maxSize(int) maxSize} sessions are allocated, or otherwise waits in
+ * a first-in-first-out queue until a session is released. Cancelling a waiting {@link #create()} leaves the queue. {@link H2Connection#close() Closing} a pooled connection resets
+ * its session instead of closing it: an open transaction is rolled back, auto-commit is enabled and the schema, the session isolation level, the lock timeout and the statement timeout
+ * set when the session was opened are restored. Database-wide settings such as {@code LOCK_MODE} are not touched. Sessions failing to reset are discarded, and so are sessions whose
+ * connection still has streamed results open.
+ * <p>
+ * Sessions idle for longer than {@link Builder#maxIdleTime(Duration) maxIdleTime} are closed as long as more than {@link Builder#minSize(int) minSize} sessions are allocated.
+ * Note that an in-memory database without {@code DB_CLOSE_DELAY=-1} is dropped once its last session is closed.
+ * <p>
+ * {@link #close() Closing} the factory fails waiting {@link #create()} calls and closes idle sessions. Connections in use are closed when they are released.
+ * <p>
+ * <i>This class is threadsafe</i>
+ */
+public final class H2PooledConnectionFactory implements CloseableConnectionFactory {
+
+    private final Logger logger = Loggers.getLogger(this.getClass());
+
+    private final H2ConnectionConfiguration configuration;
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final long maxIdleTimeNanos;
+
+    private final CodecRegistry codecRegistry = new CodecRegistry(H2PooledConnectionFactory.class.getClassLoader());
+
+    private final AtomicReference<String> serverVersion = new AtomicReference<>();
+
+    // most recently released sessions first, eviction takes from the tail
+    private final Deque<PooledSession> idle = new ArrayDeque<>();
+
+    private final Deque<MonoSink<PooledSession>> pending = new ArrayDeque<>();
+
+    @Nullable
+    private final Disposable evictionTask;
+
+    private int allocated;
+
+    private int acquired;
+
+    private boolean closed;
+
+    private H2PooledConnectionFactory(H2ConnectionConfiguration configuration, int minSize, int maxSize, Duration maxIdleTime) {
+        this.configuration = configuration;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.maxIdleTimeNanos = maxIdleTime.toNanos();
+
+        if (maxIdleTime.isZero()) {
+            this.evictionTask = null;
+        } else {
+            long interval = Math.max(1, maxIdleTime.toMillis() / 2);
+            this.evictionTask = Schedulers.parallel().schedulePeriodically(this::evictIdle, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns a new {@link Builder} for a pool of connections created from {@code configuration}.
+     *
+     * @param configuration the configuration to use to create connections
+     * @return a {@link Builder}
+     * @throws IllegalArgumentException if {@code configuration} is {@code null}
+     */
+    public static Builder builder(H2ConnectionConfiguration configuration) {
+        return new Builder(Assert.requireNonNull(configuration, "configuration must not be null"));
+    }
+
+    @Override
+    public Mono<H2Connection> create() {
+        return acquire()
+            .flatMap(session -> {
+                PooledClient client = new PooledClient(session);
+                return Mono.fromSupplier(() -> new H2Connection(client, new DefaultCodecs(client, this.codecRegistry), H2Connection.resolveDatabaseVersion(client, this.serverVersion)))
+                    .subscribeOn(client.getScheduler())
+                    .onErrorResume(e -> client.close().then(Mono.error(e)));
+            });
+    }
+
+    /**
+     * Opens sessions until {@link Builder#minSize(int) minSize} sessions are allocated.
+     *
+     * @return the number of sessions opened
+     */
+    public Mono<Integer> warmup() {
+        return Mono.defer(() -> {
+            int missing;
+
+            synchronized (this) {
+                missing = this.closed ? 0 : Math.max(0, this.minSize - this.allocated);
+                this.allocated += missing;
+            }
+
+            return Flux.range(0, missing)
+                .concatMap(i -> openSession()
+                    .doOnError(e -> {
+                        synchronized (this) {
+                            this.allocated--;
+                        }
+                    })
+                    .flatMap(session -> release(session, false))
+                    .thenReturn(i))
+                .count()
+                .map(Long::intValue);
+        });
+    }
+
+    @Override
+    public Mono<Void> close() {
+        return Mono.defer(() -> {
+            List<PooledSession> sessions;
+            List<MonoSink<PooledSession>> waiters;
+
+            synchronized (this) {
+                if (this.closed) {
+                    return Mono.empty();
+                }
+
+                this.closed = true;
+                this.allocated -= this.idle.size();
+                sessions = new ArrayList<>(this.idle);
+                waiters = new ArrayList<>(this.pending);
+                this.idle.clear();
+                this.pending.clear();
+            }
+
+            if (this.evictionTask != null) {
+                this.evictionTask.dispose();
+            }
+
+            for (MonoSink<PooledSession> waiter : waiters) {
+                waiter.error(closedException());
+            }
+
+            return Flux.fromIterable(sessions)
+                .concatMap(session -> session.client.close().onErrorResume(e -> Mono.empty()))
+                .then();
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return H2ConnectionFactoryMetadata.INSTANCE;
+    }
+
+    /**
+     * Returns a snapshot of the state of this pool.
+     *
+     * @return the pool metrics
+     */
+    public synchronized PoolMetrics getMetrics() {
+        return new PoolMetrics(this.acquired, this.allocated, this.idle.size(), this.pending.size(), this.maxSize);
+    }
+
+    @Override
+    public String toString() {
+        return "H2PooledConnectionFactory{" +
+            "configuration=" + this.configuration +
+            ", minSize=" + this.minSize +
+            ", maxSize=" + this.maxSize +
+            ", maxIdleTime=" + Duration.ofNanos(this.maxIdleTimeNanos) +
+            '}';
+    }
+
+    /**
+     * Close sessions that have been idle for longer than the maximum idle time, keeping at least the minimum number of sessions allocated.
+     */
+    void evictIdle() {
+        List<PooledSession> evicted = new ArrayList<>();
+        long now = System.nanoTime();
+
+        synchronized (this) {
+            while (this.allocated > this.minSize && !this.idle.isEmpty() && now - this.idle.peekLast().releasedAt >= this.maxIdleTimeNanos) {
+                evicted.add(this.idle.pollLast());
+                this.allocated--;
+            }
+        }
+
+        for (PooledSession session : evicted) {
+            destroy(session);
+        }
+    }
+
+    private Mono<PooledSession> acquire() {
+        return Mono.<PooledSession>create(sink -> {
+                synchronized (this) {
+                    if (this.closed) {
+                        sink.error(closedException());
+                        return;
+                    }
+
+                    this.pending.add(sink);
+                }
+
+                sink.onCancel(() -> {
+                    synchronized (this) {
+                        this.pending.remove(sink);
+                    }
+                });
+
+                drain();
+            })
+            // a session handed to a waiter that got cancelled in the meantime is discarded by the sink
+            .doOnDiscard(PooledSession.class, session -> release(session, true).subscribe());
+    }
+
+    private void drain() {
+        for (; ; ) {
+            MonoSink<PooledSession> waiter;
+            PooledSession session;
+
+            synchronized (this) {
+                if (this.pending.isEmpty()) {
+                    return;
+                }
+
+                session = this.idle.pollFirst();
+
+                if (session == null) {
+                    if (this.allocated >= this.maxSize) {
+                        return;
+                    }
+                    this.allocated++;
+                }
+
+                waiter = this.pending.poll();
+                this.acquired++;
+            }
+
+            if (session != null) {
+                waiter.success(session);
+            } else {
+                openSession().subscribe(waiter::success, e -> {
+                    synchronized (this) {
+                        this.allocated--;
+                        this.acquired--;
+                    }
+                    waiter.error(e);
+                    drain();
+                });
+            }
+        }
+    }
+
+    private Mono<PooledSession> openSession() {
+        return Mono.fromSupplier(() -> new PooledSession(H2ConnectionFactory.getSessionClient(this.configuration, false)))
+            .subscribeOn(this.configuration.getScheduler());
+    }
+
+    private Mono<Void> release(PooledSession session, boolean wasAcquired) {
+        Mono<Boolean> reset = wasAcquired ? Mono.fromCallable(session::reset)
+            .subscribeOn(session.client.getScheduler())
+            .onErrorResume(e -> {
+                this.logger.debug("Discarding session that failed to reset", e);
+                return Mono.just(false);
+            }) : Mono.just(true);
+
+        return reset.flatMap(healthy -> {
+            boolean pooled = false;
+
+            synchronized (this) {
+                if (wasAcquired) {
+                    this.acquired--;
+                }
+
+                if (healthy && !this.closed) {
+                    session.releasedAt = System.nanoTime();
+                    this.idle.addFirst(session);
+                    pooled = true;
+                } else {
+                    this.allocated--;
+                }
+            }
+
+            drain();
+
+            return pooled ? Mono.empty() : session.client.close().onErrorResume(e -> Mono.empty());
+        });
+    }
+
+    /**
+     * Close an acquired session instead of pooling it.
+     */
+    private Mono<Void> discard(PooledSession session) {
+        synchronized (this) {
+            this.acquired--;
+            this.allocated--;
+        }
+
+        drain();
+
+        return session.client.close().onErrorResume(e -> Mono.empty());
+    }
+
+    private void destroy(PooledSession session) {
+        session.client.close().subscribe(null, e -> this.logger.debug("Failed to close evicted session", e));
+    }
+
+    private H2R2dbcNonTransientResourceException closedException() {
+        return new H2R2dbcNonTransientResourceException(String.format("ConnectionFactory for %s is closed", this.configuration.getUrl()));
+    }
+
+    /**
+     * A snapshot of the state of a {@link H2PooledConnectionFactory}.
+     */
+    public static final class PoolMetrics {
+
+        private final int acquiredSize;
+
+        private final int allocatedSize;
+
+        private final int idleSize;
+
+        private final int pendingAcquireSize;
+
+        private final int maxAllocatedSize;
+
+        private PoolMetrics(int acquiredSize, int allocatedSize, int idleSize, int pendingAcquireSize, int maxAllocatedSize) {
+            this.acquiredSize = acquiredSize;
+            this.allocatedSize = allocatedSize;
+            this.idleSize = idleSize;
+            this.pendingAcquireSize = pendingAcquireSize;
+            this.maxAllocatedSize = maxAllocatedSize;
+        }
+
+        /**
+         * Returns the number of sessions currently handed out as connections.
+         *
+         * @return the number of acquired sessions
+         */
+        public int getAcquiredSize() {
+            return this.acquiredSize;
+        }
+
+        /**
+         * Returns the number of open sessions, both acquired and idle, including sessions being opened.
+         *
+         * @return the number of allocated sessions
+         */
+        public int getAllocatedSize() {
+            return this.allocatedSize;
+        }
+
+        /**
+         * Returns the number of sessions waiting in the pool.
+         *
+         * @return the number of idle sessions
+         */
+        public int getIdleSize() {
+            return this.idleSize;
+        }
+
+        /**
+         * Returns the number of {@link #create()} calls waiting for a session.
+         *
+         * @return the number of pending acquisitions
+         */
+        public int getPendingAcquireSize() {
+            return this.pendingAcquireSize;
+        }
+
+        /**
+         * Returns the maximum number of sessions the pool allocates.
+         *
+         * @return the maximum number of sessions
+         */
+        public int getMaxAllocatedSize() {
+            return this.maxAllocatedSize;
+        }
+
+        @Override
+        public String toString() {
+            return "PoolMetrics{" +
+                "acquiredSize=" + this.acquiredSize +
+                ", allocatedSize=" + this.allocatedSize +
+                ", idleSize=" + this.idleSize +
+                ", pendingAcquireSize=" + this.pendingAcquireSize +
+                ", maxAllocatedSize=" + this.maxAllocatedSize +
+                '}';
+        }
+    }
+
+    /**
+     * A builder for {@link H2PooledConnectionFactory} instances.
+     * <p>
+     * <i>This class is not threadsafe</i>
+     */
+    public static final class Builder {
+
+        private final H2ConnectionConfiguration configuration;
+
+        private int minSize = 0;
+
+        private int maxSize = 10;
+
+        private Duration maxIdleTime = Duration.ofMinutes(30);
+
+        private Builder(H2ConnectionConfiguration configuration) {
+            this.configuration = configuration;
+        }
+
+        /**
+         * Returns a configured {@link H2PooledConnectionFactory}.
+         *
+         * @return a configured {@link H2PooledConnectionFactory}
+         * @throws IllegalArgumentException if {@code minSize} is greater than {@code maxSize}
+         */
+        public H2PooledConnectionFactory build() {
+            Assert.requireTrue(this.minSize <= this.maxSize, "minSize must be less or equal to maxSize");
+
+            return new H2PooledConnectionFactory(this.configuration, this.minSize, this.maxSize, this.maxIdleTime);
+        }
+
+        /**
+         * Configure the maximum time a session may stay idle before it gets closed. {@link Duration#ZERO} disables idle eviction. Defaults to 30 minutes.
+         *
+         * @param maxIdleTime the maximum idle time
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if {@code maxIdleTime} is {@code null} or negative
+         */
+        public Builder maxIdleTime(Duration maxIdleTime) {
+            Assert.requireNonNull(maxIdleTime, "maxIdleTime must not be null");
+            Assert.requireTrue(!maxIdleTime.isNegative(), "maxIdleTime must not be negative");
+            this.maxIdleTime = maxIdleTime;
+            return this;
+        }
+
+        /**
+         * Configure the maximum number of sessions. Defaults to {@code 10}.
+         *
+         * @param maxSize the maximum number of sessions
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if {@code maxSize} is less than one
+         */
+        public Builder maxSize(int maxSize) {
+            Assert.requireTrue(maxSize > 0, "maxSize must be greater than zero");
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Configure the number of sessions kept open when idle, see {@link H2PooledConnectionFactory#warmup()}. Defaults to {@code 0}.
+         *
+         * @param minSize the minimum number of sessions
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if {@code minSize} is negative
+         */
+        public Builder minSize(int minSize) {
+            Assert.requireTrue(minSize >= 0, "minSize must be greater or equal to zero");
+            this.minSize = minSize;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "Builder{" +
+                "configuration=" + this.configuration +
+                ", minSize=" + this.minSize +
+                ", maxSize=" + this.maxSize +
+                ", maxIdleTime=" + this.maxIdleTime +
+                '}';
+        }
+    }
+
+    private static final class PooledSession {
+
+        private final SessionClient client;
+
+        private final String schema;
+
+        private final IsolationLevel isolationLevel;
+
+        private final Duration lockTimeout;
+
+        private final Duration statementTimeout;
+
+        private long releasedAt;
+
+        private PooledSession(SessionClient client) {
+            Session session = client.getSession();
+
+            this.client = client;
+            this.schema = session.getCurrentSchemaName();
+            this.isolationLevel = session.getIsolationLevel();
+            this.lockTimeout = client.getLockTimeout();
+            this.statementTimeout = client.getStatementTimeout();
+        }
+
+        /**
+         * Restore the state the session had when it was opened.
+         *
+         * @return {@code true} if the session can be reused
+         */
+        private boolean reset() {
+            Session session = this.client.getSession();
+
+            if (session.isClosed()) {
+                return false;
+            }
+
+            if (this.client.inTransaction()) {
+                this.client.rollback();
+                this.client.enableAutoCommit();
+            }
+
+            if (!this.schema.equals(session.getCurrentSchemaName())) {
+                session.setCurrentSchemaName(this.schema);
+            }
+
+            if (session.getIsolationLevel() != this.isolationLevel) {
+                session.setIsolationLevel(this.isolationLevel);
+            }
+
+            if (!this.client.getLockTimeout().equals(this.lockTimeout)) {
+                this.client.setLockTimeout(this.lockTimeout);
+            }
+
+            this.client.setStatementTimeout(this.statementTimeout);
+            return true;
+        }
+    }
+
+    /**
+     * The {@link Client} of a single lease. Closing it hands the session back to the pool, afterwards it rejects any use. The lease keeps track of the commands it prepared: a
+     * session with commands still outstanding, e.g. because a streamed result was not consumed, still holds the result's cursor and temporary LOBs and is discarded instead of
+     * pooled. Commands handed back after the lease was closed are still released through the session's {@link SessionClient}.
+     */
+    private final class PooledClient implements Client {
+
+        private final PooledSession owner;
+
+        private final AtomicReference<PooledSession> session;
+
+        private final Set<CommandInterface> commands = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private PooledClient(PooledSession session) {
+            this.owner = session;
+            this.session = new AtomicReference<>(session);
+        }
+
+        @Override
+        public Mono<Void> close() {
+            return Mono.defer(() -> {
+                PooledSession session = this.session.getAndSet(null);
+
+                if (session == null) {
+                    return Mono.empty();
+                }
+
+                synchronized (this.commands) {
+                    if (!this.commands.isEmpty()) {
+                        H2PooledConnectionFactory.this.logger.debug("Discarding session with {} outstanding commands", this.commands.size());
+                        return discard(session);
+                    }
+                }
+
+                return release(session, true);
+            });
+        }
+
+        @Override
+        public void commit() {
+            delegate().commit();
+        }
+
+        @Override
+        public void createSavepoint(String name) {
+            delegate().createSavepoint(name);
+        }
+
+        @Override
+        public void discardCommand(CommandInterface command) {
+            if (untrack(command)) {
+                this.owner.client.discardCommand(command);
+            }
+        }
+
+        @Override
+        public void disableAutoCommit() {
+            delegate().disableAutoCommit();
+        }
+
+        @Override
+        public void enableAutoCommit() {
+            delegate().enableAutoCommit();
+        }
+
+        @Override
+        public void execute(String sql) {
+            delegate().execute(sql);
+        }
+
+        @Override
+        public Duration getLockTimeout() {
+            return delegate().getLockTimeout();
+        }
+
+        @Override
+        public void setLockTimeout(Duration timeout) {
+            delegate().setLockTimeout(timeout);
+        }
+
+        @Override
+        public Duration getStatementTimeout() {
+            return delegate().getStatementTimeout();
+        }
+
+        @Override
+        public void setStatementTimeout(Duration timeout) {
+            delegate().setStatementTimeout(timeout);
+        }
+
+        @Override
+        public boolean inTransaction() {
+            return delegate().inTransaction();
+        }
+
+        @Override
+        public Iterator<CommandInterface> prepareCommand(String sql, List<Binding> bindings) {
+            Iterator<CommandInterface> commands = delegate().prepareCommand(sql, bindings);
+
+            return new Iterator<CommandInterface>() {
+
+                @Override
+                public boolean hasNext() {
+                    return commands.hasNext();
+                }
+
+                @Override
+                public CommandInterface next() {
+                    CommandInterface command = commands.next();
+
+                    synchronized (PooledClient.this.commands) {
+                        PooledClient.this.commands.add(command);
+                    }
+
+                    return command;
+                }
+            };
+        }
+
+        @Override
+        public void releaseSavepoint(String name) {
+            delegate().releaseSavepoint(name);
+        }
+
+        @Override
+        public void rollback() {
+            delegate().rollback();
+        }
+
+        @Override
+        public void rollbackToSavepoint(String name) {
+            delegate().rollbackToSavepoint(name);
+        }
+
+        @Override
+        public void releaseCommand(CommandInterface command) {
+            // results may get closed after their connection
+            if (untrack(command)) {
+                this.owner.client.releaseCommand(command);
+            }
+        }
+
+        @Override
+        public ResultInterface query(CommandInterface command) {
+            return delegate().query(command);
+        }
+
+        @Override
+        public ResultInterface query(CommandInterface command, long maxRows, int fetchSize) {
+            return delegate().query(command, maxRows, fetchSize);
+        }
+
+        @Override
+        public ResultWithGeneratedKeys update(CommandInterface command, Object generatedColumns) {
+            return delegate().update(command, generatedColumns);
+        }
+
+        @Override
+        public Session getSession() {
+            return delegate().getSession();
+        }
+
+        @Override
+        public Scheduler getScheduler() {
+            return H2PooledConnectionFactory.this.configuration.getScheduler();
+        }
+
+        private boolean untrack(CommandInterface command) {
+            synchronized (this.commands) {
+                return this.commands.remove(command);
+            }
+        }
+
+        private SessionClient delegate() {
+            PooledSession session = this.session.get();
+
+            if (session == null) {
+                throw new H2R2dbcNonTransientResourceException("Connection is closed");
+            }
+
+            return session.client;
+        }
+    }
+}
@@ -27,6 +27,8 @@ import org.h2.value.Value;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.annotation.Nullable;
 
 import java.util.Iterator;
@@ -119,34 +121,70 @@ public final class H2Result implements Result {
     }
 
     static H2Result toResult(Codecs codecs, ResultInterface result, @Nullable Long rowsUpdated) {
+        return toResult(codecs, result, rowsUpdated, Schedulers.immediate());
+    }
+
+    static H2Result toResult(Codecs codecs, ResultInterface result, @Nullable Long rowsUpdated, Scheduler scheduler) {
+        return toResult(codecs, result, rowsUpdated, scheduler, () -> {
+        });
+    }
+
+    /**
+     * Create a {@link H2Result} that iterates over {@code result} on {@code scheduler} as rows are requested.
+     *
+     * @param onClose callback invoked once after {@code result} got closed, either because it was exhausted, failed, or the subscriber cancelled
+     */
+    static H2Result toResult(Codecs codecs, ResultInterface result, @Nullable Long rowsUpdated, Scheduler scheduler, Runnable onClose) {
         Assert.requireNonNull(codecs, "codecs must not be null");
         Assert.requireNonNull(result, "result must not be null");
+        Assert.requireNonNull(scheduler, "scheduler must not be null");
+        Assert.requireNonNull(onClose, "onClose must not be null");
 
         H2RowMetadata rowMetadata = H2RowMetadata.toRowMetadata(codecs, result);
 
+        // cursor access is synchronized on the result as a cancelling subscriber closes it from its own thread
+        Runnable close = () -> {
+            synchronized (result) {
+                if (!result.isClosed()) {
+                    result.close();
+                    onClose.run();
+                }
+            }
+        };
+
         Iterable<Value[]> iterable = () -> new Iterator<Value[]>() {
 
             @Override
             public boolean hasNext() {
-                boolean b = result.hasNext();
+                synchronized (result) {
+                    if (result.isClosed()) {
+                        return false;
+                    }
 
-                if (!b) {
-                    result.close();
-                }
+                    boolean b = result.hasNext();
 
-                return b;
+                    if (!b) {
+                        close.run();
+                    }
+
+                    return b;
+                }
             }
 
             @Override
             public Value[] next() {
-                result.next();
-                return result.currentRow();
+                synchronized (result) {
+                    result.next();
+                    return result.currentRow();
+                }
             }
         };
 
         Flux<H2Row> rows = Flux.fromIterable(iterable)
-            .map(values -> H2Row.toRow(values, result, codecs, rowMetadata))
-            .onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert);
+            .map(values -> H2Row.toRow(values, codecs, rowMetadata))
+            .onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert)
+            .doFinally(signal -> close.run())
+            .subscribeOn(scheduler);
 
         return new H2Result(rowMetadata, rows, Mono.justOrEmpty(rowsUpdated), rows);
     }
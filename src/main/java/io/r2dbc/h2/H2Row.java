@@ -20,31 +20,32 @@ import io.r2dbc.h2.codecs.Codecs;
 import io.r2dbc.h2.util.Assert;
 import io.r2dbc.spi.Result;
 import io.r2dbc.spi.Row;
-import org.h2.result.ResultInterface;
-import org.h2.value.TypeInfo;
+import org.h2.message.DbException;
 import org.h2.value.Value;
+import org.h2.value.ValueNull;
 import reactor.util.annotation.Nullable;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 
 /**
  * An implementation of {@link Row} for an H2 database.
+ * <p>
+ * A row only wraps the {@link Value values} of the current result row. Column types and the name index are shared by all rows of a result through their {@link H2RowMetadata}.
  */
 public final class H2Row implements Row, Result.RowSegment {
 
     private final Codecs codecs;
 
-    private final List<Column> columns;
-
     private final H2RowMetadata metadata;
 
-    private final Map<String, Column> nameKeyedColumns;
+    private final Value[] values;
 
-    H2Row(List<Column> columns, Codecs codecs, H2RowMetadata metadata) {
-        this.columns = Assert.requireNonNull(columns, "columns must not be null");
+    H2Row(Value[] values, Codecs codecs, H2RowMetadata metadata) {
+        this.values = Assert.requireNonNull(values, "values must not be null");
         this.codecs = Assert.requireNonNull(codecs, "codecs must not be null");
         this.metadata = Assert.requireNonNull(metadata, "metadata must not be null");
-        this.nameKeyedColumns = getNameKeyedColumns(this.columns);
     }
 
     @Override
@@ -56,20 +57,154 @@ public final class H2Row implements Row, Result.RowSegment {
             return false;
         }
         H2Row that = (H2Row) o;
-        return Objects.equals(this.columns, that.columns);
+        return Objects.equals(this.metadata, that.metadata) &&
+            Arrays.equals(this.values, that.values);
     }
 
     @Override
     public <T> T get(int index, Class<T> type) {
-        Column column = getColumn(index);
-        return this.codecs.decode(column.getValue(), column.getTypeInfo().getValueType(), type);
+        return decode(getIndex(index), type);
     }
 
     @Override
     @Nullable
     public <T> T get(String name, Class<T> type) {
-        Column column = getColumn(name);
-        return this.codecs.decode(column.getValue(), column.getTypeInfo().getValueType(), type);
+        return decode(getIndex(name), type);
+    }
+
+    /**
+     * Returns the value of the column at {@code index} as {@code boolean} without decoding it through the codecs.
+     *
+     * @param index the index of the column starting at {@code 0}
+     * @return the value, {@code false} if the value is SQL {@code NULL}
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public boolean getBoolean(int index) {
+        Value value = this.values[getIndex(index)];
+
+        try {
+            return !isNull(value) && value.getBoolean();
+        } catch (DbException e) {
+            throw H2DatabaseExceptionFactory.convert(e);
+        }
+    }
+
+    /**
+     * Returns the value of the column named {@code name} as {@code boolean} without decoding it through the codecs.
+     *
+     * @param name the name of the column, case-insensitive
+     * @return the value, {@code false} if the value is SQL {@code NULL}
+     * @throws NoSuchElementException if there is no column named {@code name}
+     */
+    public boolean getBoolean(String name) {
+        return getBoolean(getIndex(name));
+    }
+
+    /**
+     * Returns the value of the column at {@code index} as {@code double} without decoding it through the codecs.
+     *
+     * @param index the index of the column starting at {@code 0}
+     * @return the value, {@code 0} if the value is SQL {@code NULL}
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public double getDouble(int index) {
+        Value value = this.values[getIndex(index)];
+
+        try {
+            return isNull(value) ? 0 : value.getDouble();
+        } catch (DbException e) {
+            throw H2DatabaseExceptionFactory.convert(e);
+        }
+    }
+
+    /**
+     * Returns the value of the column named {@code name} as {@code double} without decoding it through the codecs.
+     *
+     * @param name the name of the column, case-insensitive
+     * @return the value, {@code 0} if the value is SQL {@code NULL}
+     * @throws NoSuchElementException if there is no column named {@code name}
+     */
+    public double getDouble(String name) {
+        return getDouble(getIndex(name));
+    }
+
+    /**
+     * Returns the value of the column at {@code index} as {@code int} without decoding it through the codecs.
+     *
+     * @param index the index of the column starting at {@code 0}
+     * @return the value, {@code 0} if the value is SQL {@code NULL}
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public int getInt(int index) {
+        Value value = this.values[getIndex(index)];
+
+        try {
+            return isNull(value) ? 0 : value.getInt();
+        } catch (DbException e) {
+            throw H2DatabaseExceptionFactory.convert(e);
+        }
+    }
+
+    /**
+     * Returns the value of the column named {@code name} as {@code int} without decoding it through the codecs.
+     *
+     * @param name the name of the column, case-insensitive
+     * @return the value, {@code 0} if the value is SQL {@code NULL}
+     * @throws NoSuchElementException if there is no column named {@code name}
+     */
+    public int getInt(String name) {
+        return getInt(getIndex(name));
+    }
+
+    /**
+     * Returns the value of the column at {@code index} as {@code long} without decoding it through the codecs.
+     *
+     * @param index the index of the column starting at {@code 0}
+     * @return the value, {@code 0} if the value is SQL {@code NULL}
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public long getLong(int index) {
+        Value value = this.values[getIndex(index)];
+
+        try {
+            return isNull(value) ? 0 : value.getLong();
+        } catch (DbException e) {
+            throw H2DatabaseExceptionFactory.convert(e);
+        }
+    }
+
+    /**
+     * Returns the value of the column named {@code name} as {@code long} without decoding it through the codecs.
+     *
+     * @param name the name of the column, case-insensitive
+     * @return the value, {@code 0} if the value is SQL {@code NULL}
+     * @throws NoSuchElementException if there is no column named {@code name}
+     */
+    public long getLong(String name) {
+        return getLong(getIndex(name));
+    }
+
+    /**
+     * Returns whether the value of the column at {@code index} is SQL {@code NULL}. Use it to tell {@code NULL} apart from {@code 0} or {@code false} when reading primitive
+     * values.
+     *
+     * @param index the index of the column starting at {@code 0}
+     * @return {@code true} if the value is SQL {@code NULL}
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public boolean isNull(int index) {
+        return isNull(this.values[getIndex(index)]);
+    }
+
+    /**
+     * Returns whether the value of the column named {@code name} is SQL {@code NULL}.
+     *
+     * @param name the name of the column, case-insensitive
+     * @return {@code true} if the value is SQL {@code NULL}
+     * @throws NoSuchElementException if there is no column named {@code name}
+     */
+    public boolean isNull(String name) {
+        return isNull(this.values[getIndex(name)]);
     }
 
     /**
@@ -85,7 +220,7 @@ public final class H2Row implements Row, Result.RowSegment {
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.columns);
+        return Objects.hash(this.metadata, Arrays.hashCode(this.values));
     }
 
     @Override
@@ -96,113 +231,47 @@ public final class H2Row implements Row, Result.RowSegment {
     @Override
     public String toString() {
         return "H2Row{" +
-            "columns=" + this.columns +
-            ", nameKeyedColumns=" + this.nameKeyedColumns +
+            "columnNames=" + this.metadata.getIndexedColumnNames() +
+            ", values=" + Arrays.toString(this.values) +
             '}';
     }
 
-    static H2Row toRow(Value[] values, ResultInterface result, Codecs codecs, H2RowMetadata metadata) {
+    static H2Row toRow(Value[] values, Codecs codecs, H2RowMetadata metadata) {
         Assert.requireNonNull(values, "values must not be null");
-        Assert.requireNonNull(result, "result must not be null");
         Assert.requireNonNull(codecs, "codecs must not null");
+        Assert.requireNonNull(metadata, "metadata must not be null");
 
-        List<Column> columns = getColumns(values, result);
-
-        return new H2Row(columns, codecs, metadata);
+        return new H2Row(values, codecs, metadata);
     }
 
-    private static List<Column> getColumns(Value[] values, ResultInterface result) {
-        List<Column> columns = new ArrayList<>(values.length);
-
-        for (int i = 0; i < values.length; i++) {
-            columns.add(new Column(result.getColumnType(i), result.getAlias(i).toUpperCase(), values[i]));
-        }
+    private static boolean isNull(@Nullable Value value) {
+        return value == null || value == ValueNull.INSTANCE;
+    }
 
-        return columns;
+    private <T> T decode(int index, Class<T> type) {
+        return this.metadata.getDecoder(index, type, this.codecs).decode(this.values[index]);
     }
 
-    private Column getColumn(String name) {
+    private int getIndex(String name) {
         Assert.requireNonNull(name, "name must not be null");
         String normalized = name.toUpperCase();
 
-        if (!this.nameKeyedColumns.containsKey(normalized)) {
-            throw new NoSuchElementException(String.format("Column name '%s' does not exist in column names %s", normalized, this.nameKeyedColumns.keySet()));
-        }
+        int index = this.metadata.getColumnIndex(normalized);
 
-        return this.nameKeyedColumns.get(normalized);
-    }
-
-    private Column getColumn(int index) {
-        if (index >= this.columns.size()) {
-            throw new IndexOutOfBoundsException(String.format("Column index %d is larger than the number of columns %d", index, this.columns.size()));
-        }
-
-        return this.columns.get(index);
-    }
-
-    private Map<String, Column> getNameKeyedColumns(List<Column> columns) {
-        Map<String, Column> nameKeyedColumns = new HashMap<>(columns.size());
-
-        for (Column column : columns) {
-            nameKeyedColumns.putIfAbsent(column.getName(), column);
+        if (index < 0) {
+            throw new NoSuchElementException(String.format("Column name '%s' does not exist in column names %s", normalized, this.metadata.getIndexedColumnNames()));
         }
 
-        return nameKeyedColumns;
+        return index;
     }
 
-    static final class Column {
-
-        private final TypeInfo typeInfo;
-
-        private final String name;
-
-        private final Value value;
-
-        Column(TypeInfo typeInfo, String name, Value value) {
-            this.typeInfo = Assert.requireNonNull(typeInfo, "dataType must not be null");
-            this.name = Assert.requireNonNull(name, "name must not be null");
-            this.value = value;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (!(o instanceof Column)) {
-                return false;
-            }
-            Column that = (Column) o;
-            return Objects.equals(this.typeInfo, that.typeInfo) &&
-                Objects.equals(this.name, that.name) &&
-                Objects.equals(this.value, that.value);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(this.typeInfo, this.name, this.value);
-        }
-
-        @Override
-        public String toString() {
-            return "Column{" +
-                "typeInfo=" + this.typeInfo +
-                ", name='" + this.name + '\'' +
-                ", value=" + this.value +
-                '}';
-        }
-
-        private TypeInfo getTypeInfo() {
-            return this.typeInfo;
-        }
-
-        private String getName() {
-            return this.name;
-        }
+    private int getIndex(int index) {
+        int columnCount = Math.min(this.values.length, this.metadata.getColumnCount());
 
-        private Value getValue() {
-            return this.value;
+        if (index < 0 || index >= columnCount) {
+            throw new IndexOutOfBoundsException(String.format("Column index %d is larger than the number of columns %d", index, columnCount));
         }
 
+        return index;
     }
 }
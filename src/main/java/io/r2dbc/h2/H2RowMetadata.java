@@ -29,8 +29,26 @@ import java.util.*;
  */
 public class H2RowMetadata extends ColumnSource implements RowMetadata, Collection<String> {
 
+    private final int[] valueTypes;
+
+    private final Map<String, Integer> columnIndexes;
+
+    // last decoder resolved per column, replaced when a column is read as a different type
+    private final DecoderSlot[] decoders;
+
     H2RowMetadata(List<H2ColumnMetadata> columnMetadatas) {
         super(Assert.requireNonNull(columnMetadatas, "columnMetadatas must not be null"));
+
+        // computed once per result and shared by all of its rows
+        this.valueTypes = new int[columnMetadatas.size()];
+        this.columnIndexes = new LinkedHashMap<>(columnMetadatas.size() * 2);
+        this.decoders = new DecoderSlot[columnMetadatas.size()];
+
+        for (int i = 0; i < columnMetadatas.size(); i++) {
+            H2ColumnMetadata columnMetadata = columnMetadatas.get(i);
+            this.valueTypes[i] = columnMetadata.getType().getTypeInfo().getValueType();
+            this.columnIndexes.putIfAbsent(columnMetadata.getName().toUpperCase(), i);
+        }
     }
 
     @Override
@@ -48,6 +66,58 @@ public class H2RowMetadata extends ColumnSource implements RowMetadata, Collecti
         return Collections.unmodifiableList(super.getColumnMetadatas());
     }
 
+    /**
+     * Returns the H2 value type of the column at {@code index}.
+     *
+     * @param index the column index
+     * @return the value type, see {@link org.h2.value.Value}
+     */
+    int getValueType(int index) {
+        return this.valueTypes[index];
+    }
+
+    /**
+     * Returns the {@link Codecs.Decoder} for reading the column at {@code index} as {@code type}. The decoder is resolved on first access and reused by all rows of the result
+     * that read the column as the same type.
+     *
+     * @param index  the column index
+     * @param type   the type to decode to
+     * @param codecs the codecs to resolve the decoder with
+     * @param <T>    the type of item being returned
+     * @return the decoder
+     */
+    @SuppressWarnings("unchecked")
+    <T> Codecs.Decoder<T> getDecoder(int index, Class<? extends T> type, Codecs codecs) {
+        DecoderSlot slot = this.decoders[index];
+
+        if (slot == null || slot.type != type || slot.codecs != codecs) {
+            slot = new DecoderSlot(type, codecs, codecs.decoder(this.valueTypes[index], type));
+            this.decoders[index] = slot;
+        }
+
+        return (Codecs.Decoder<T>) slot.decoder;
+    }
+
+    /**
+     * Returns the index of the first column named {@code normalizedName}.
+     *
+     * @param normalizedName the upper-case column name
+     * @return the column index or {@code -1} if there is no such column
+     */
+    int getColumnIndex(String normalizedName) {
+        Integer index = this.columnIndexes.get(normalizedName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the upper-case column names rows can be accessed by.
+     *
+     * @return the column names
+     */
+    Set<String> getIndexedColumnNames() {
+        return this.columnIndexes.keySet();
+    }
+
     static H2RowMetadata toRowMetadata(Codecs codecs, ResultInterface result) {
         Assert.requireNonNull(codecs, "codecs must not be null");
         Assert.requireNonNull(result, "result must not be null");
@@ -168,4 +238,19 @@ public class H2RowMetadata extends ColumnSource implements RowMetadata, Collecti
     public void clear() {
         throw new UnsupportedOperationException();
     }
+
+    private static final class DecoderSlot {
+
+        private final Class<?> type;
+
+        private final Codecs codecs;
+
+        private final Codecs.Decoder<?> decoder;
+
+        private DecoderSlot(Class<?> type, Codecs codecs, Codecs.Decoder<?> decoder) {
+            this.type = type;
+            this.codecs = codecs;
+            this.decoder = decoder;
+        }
+    }
 }
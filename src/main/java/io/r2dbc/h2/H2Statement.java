@@ -20,18 +20,29 @@ import io.r2dbc.h2.client.Binding;
 import io.r2dbc.h2.client.Client;
 import io.r2dbc.h2.codecs.Codecs;
 import io.r2dbc.h2.util.Assert;
+import io.r2dbc.spi.Blob;
+import io.r2dbc.spi.Clob;
+import io.r2dbc.spi.Parameter;
 import io.r2dbc.spi.Statement;
 import org.h2.command.CommandInterface;
 import org.h2.engine.GeneratedKeysMode;
 import org.h2.message.DbException;
 import org.h2.result.ResultInterface;
 import org.h2.result.ResultWithGeneratedKeys;
+import org.h2.value.ValueNull;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.annotation.Nullable;
+import reactor.util.function.Tuples;
 
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -40,19 +51,23 @@ import java.util.regex.Pattern;
  */
 public final class H2Statement implements Statement {
 
-    // search for $ or ? in the statement.
+    // fallback for identifiers that are no placeholder of the statement: search for $ or ? in the identifier.
     private static final Pattern PARAMETER_SYMBOLS = Pattern.compile(".*([$?])([\\d]+).*");
 
     // the value of the binding will be on the second group
     private static final int BIND_POSITION_NUMBER_GROUP = 2;
 
-    private final Bindings bindings = new Bindings();
+    private final Bindings bindings;
 
     private final Client client;
 
     private final Codecs codecs;
 
-    private final String sql;
+    private final ParsedSql parsedSql;
+
+    private int fetchSize;
+
+    private long maxRows;
 
     private String[] generatedColumns;
 
@@ -61,7 +76,8 @@ public final class H2Statement implements Statement {
     H2Statement(Client client, Codecs codecs, String sql) {
         this.client = Assert.requireNonNull(client, "client must not be null");
         this.codecs = Assert.requireNonNull(codecs, "codecs must not be null");
-        this.sql = Assert.requireNonNull(sql, "sql must not be null");
+        this.parsedSql = ParsedSql.parse(Assert.requireNonNull(sql, "sql must not be null"));
+        this.bindings = new Bindings(this.parsedSql.getParameterCount());
     }
 
     @Override
@@ -95,6 +111,7 @@ public final class H2Statement implements Statement {
     public H2Statement bindNull(int index, @Nullable Class<?> type) {
         this.bindings.open = false;
         this.bindings.getCurrent().add(index, this.codecs.encodeNull(type));
+        this.bindings.removeLob(index);
 
         return this;
     }
@@ -102,19 +119,84 @@ public final class H2Statement implements Statement {
     @Override
     public Flux<H2Result> execute() {
         Assert.requireTrue(!this.bindings.open, "No unfinished bindings!");
-        return Flux.fromArray(this.sql.split(";"))
-            .map(String::trim)
-            .filter(it -> !it.isEmpty())
-            .flatMap(it -> doExecute(it, this.bindings));
+        Assert.requireTrue(this.parsedSql.getStatements().size() == 1 || !this.bindings.hasPublishers(), "Blob and Clob parameters are not supported with multiple statements");
+        return Flux.fromIterable(this.parsedSql.getStatements())
+            .concatMap(it -> doExecute(it, this.bindings));
     }
 
     Flux<H2Result> doExecute(Bindings bindings) {
-        return doExecute(this.sql, bindings);
+        return doExecute(this.parsedSql.getSql(), bindings);
     }
 
+    /**
+     * Execute {@code sql} once per binding. The client prepares the command once and re-applies parameters for each binding, so executions must happen strictly one after
+     * another: each command is executed and released before the next binding is requested from the iterator. Unlike a JDBC batch, a failing binding terminates the execution and
+     * the bindings after it are not executed.
+     * <p>
+     * Cancelling the subscription cancels the command that is currently executing. Its cancellation error is not propagated and the command is discarded instead of being
+     * released to the client's cache: H2 keeps a cancellation pending until the next execution of the command.
+     */
     Flux<H2Result> doExecute(String sql, Bindings bindings) {
-        return Flux.fromIterable(() -> this.client.prepareCommand(sql, bindings.bindings))
-            .flatMap(it -> execute(it, this.client, this.codecs, this.generatedColumns == null ? this.allGeneratedColumns : this.generatedColumns));
+        Object generatedColumns = this.generatedColumns == null ? this.allGeneratedColumns : this.generatedColumns;
+        int fetchSize = this.fetchSize;
+        long maxRows = this.maxRows;
+
+        return Flux.defer(() -> {
+
+            RunningCommand running = new RunningCommand();
+
+            return readLobs(bindings).flatMapMany(contents -> Flux.fromIterable(() -> this.client.prepareCommand(sql, new LobWritingBindings(bindings, contents)))
+                .<H2Result>handle((command, sink) -> {
+                    if (!running.start(command)) {
+                        running.release(command, this.client);
+                        return;
+                    }
+
+                    try {
+                        sink.next(execute(command, running, this.client, this.codecs, generatedColumns, maxRows, fetchSize));
+                    } catch (RuntimeException e) {
+                        if (!running.isCancelled()) {
+                            sink.error(e);
+                        }
+                    } finally {
+                        // a streamed result outlives its execution, cancelling the subscription must no longer cancel its command
+                        running.stop(command);
+                    }
+                }))
+                .doOnCancel(running::cancel);
+        }).subscribeOn(this.client.getScheduler());
+    }
+
+    /**
+     * Configure the number of rows to fetch at a time. A fetch size greater than zero switches queries to streaming: embedded sessions execute them with H2's lazy query
+     * execution and rows are computed as they are requested, remote sessions transfer {@code rows} rows per round trip. The command stays leased until the result is consumed
+     * or its subscription is cancelled. {@code 0}, the default, materializes the complete result on execution.
+     *
+     * @param rows the number of rows to fetch at a time, {@code 0} to materialize the complete result
+     * @return this {@link H2Statement}
+     * @throws IllegalArgumentException if {@code rows} is negative
+     */
+    @Override
+    public H2Statement fetchSize(int rows) {
+        Assert.requireTrue(rows >= 0, "fetch size must be greater or equal to zero");
+
+        this.fetchSize = rows;
+        return this;
+    }
+
+    /**
+     * Configure the maximum number of rows a query returns. H2 stops producing rows once the limit is reached and uses it to optimize sorting, so a query that only needs the
+     * first rows of a large table does not build its complete result. The limit applies in addition to a {@code LIMIT} or {@code FETCH FIRST} clause of the query itself.
+     *
+     * @param rows the maximum number of rows, {@code 0} for no limit
+     * @return this {@link H2Statement}
+     * @throws IllegalArgumentException if {@code rows} is negative
+     */
+    public H2Statement maxRows(long rows) {
+        Assert.requireTrue(rows >= 0, "max rows must be greater or equal to zero");
+
+        this.maxRows = rows;
+        return this;
     }
 
     @Override
@@ -138,36 +220,127 @@ public final class H2Statement implements Statement {
         Assert.requireNonNull(value, "value must not be null");
 
         this.bindings.open = false;
-        this.bindings.getCurrent().add(index, this.codecs.encode(value));
+
+        // the codec of a parameter encodes its value, a LOB it wraps is read at execution time like an unwrapped one
+        if (value instanceof Parameter && isLob(((Parameter) value).getValue())) {
+            value = ((Parameter) value).getValue();
+        }
+
+        if (value instanceof ByteBuffer) {
+            this.bindings.addLob(index, copy((ByteBuffer) value));
+        } else if (isLob(value)) {
+            this.bindings.addLob(index, value);
+        } else {
+            this.bindings.getCurrent().add(index, this.codecs.encode(value));
+            this.bindings.removeLob(index);
+        }
 
         return this;
     }
 
-    private static Mono<H2Result> execute(CommandInterface command, Client client, Codecs codecs, Object generatedColumns) {
-        return Mono.fromSupplier(() -> {
+    /**
+     * Read the content of the {@link Blob} and {@link Clob} parameters of an execution. Their publishers are only subscribed to once the statement is, and are read without
+     * blocking before any command runs, one after another. The execution continues on the client's scheduler.
+     *
+     * @return the content of each pending {@link Blob} and {@link Clob}, available right away
+     */
+    private Mono<Map<PendingLob, Object>> readLobs(Bindings bindings) {
+        if (!bindings.hasPublishers()) {
+            return Mono.just(Collections.emptyMap());
+        }
 
-                try {
-                    if (command.isQuery()) {
-                        ResultInterface result = client.query(command);
-                        CommandUtil.clearForReuse(command);
-                        return H2Result.toResult(codecs, result, null);
-                    } else {
+        return Flux.fromIterable(bindings.lobs)
+            .filter(lob -> !(lob.value instanceof ByteBuffer))
+            .concatMap(lob -> read(lob.value).map(content -> Tuples.of(lob, content)))
+            .<Map<PendingLob, Object>>collect(IdentityHashMap::new, (contents, lob) -> contents.put(lob.getT1(), lob.getT2()))
+            .publishOn(this.client.getScheduler());
+    }
 
-                        ResultWithGeneratedKeys result = client.update(command, generatedColumns);
-                        CommandUtil.clearForReuse(command);
-                        if (GeneratedKeysMode.valueOf(generatedColumns) == GeneratedKeysMode.NONE) {
-                            return H2Result.toResult(codecs, result.getUpdateCount());
-                        } else {
-                            return H2Result.toResult(codecs, result.getGeneratedKeys(), result.getUpdateCount());
-                        }
-                    }
-                } catch (DbException e) {
-                    throw H2DatabaseExceptionFactory.convert(e);
+    /**
+     * Write the LOB parameters of {@code binding} to H2's LOB storage, one after another, and bind the resulting LOB values to a copy of {@code binding} for this execution.
+     * LOBs are written right before the client binds {@code binding} instead of at bind time: the client frees the temporary LOBs of a binding as soon as its command is done.
+     */
+    private Binding writeLobs(Bindings bindings, Map<PendingLob, Object> contents, Binding binding) {
+        Binding execution = null;
+
+        try {
+            for (PendingLob lob : bindings.lobs) {
+                if (lob.binding == binding) {
+                    execution = execution == null ? binding.copy() : execution;
+                    execution.add(lob.index, this.codecs.encode(contents.getOrDefault(lob, lob.value)));
+                }
+            }
+        } catch (DbException e) {
+            throw H2DatabaseExceptionFactory.convert(e);
+        }
+
+        return execution == null ? binding : execution;
+    }
+
+    private static Mono<Object> read(Object lob) {
+        if (lob instanceof Blob) {
+            return Flux.from(((Blob) lob).stream()).collectList().map(content -> Blob.from(Flux.fromIterable(content)));
+        }
+
+        return Flux.from(((Clob) lob).stream()).collectList().map(content -> Clob.from(Flux.fromIterable(content)));
+    }
+
+    private static boolean isLob(@Nullable Object value) {
+        return value instanceof Blob || value instanceof Clob || value instanceof ByteBuffer;
+    }
+
+    /**
+     * Copy the remaining content of {@code value}, changes the caller makes after binding it must not change what gets written.
+     */
+    private static ByteBuffer copy(ByteBuffer value) {
+        ByteBuffer copy = ByteBuffer.allocate(value.remaining());
+        copy.put(value.duplicate());
+        copy.flip();
+        return copy;
+    }
+
+    private static H2Result execute(CommandInterface command, RunningCommand running, Client client, Codecs codecs, Object generatedColumns, long maxRows, int fetchSize) {
+        boolean release = true;
+
+        try {
+            if (command.isQuery()) {
+                ResultInterface result = client.query(command, maxRows, fetchSize);
+
+                if (fetchSize == 0) {
+                    return H2Result.toResult(codecs, result, null, client.getScheduler());
+                }
+
+                // a streamed result still reads through the command, it is released once the result is closed
+                release = false;
+                return H2Result.toResult(codecs, result, null, client.getScheduler(), () -> {
+                    command.stop(true);
+                    running.release(command, client);
+                });
+            } else {
+
+                ResultWithGeneratedKeys result = client.update(command, generatedColumns);
+                if (GeneratedKeysMode.valueOf(generatedColumns) == GeneratedKeysMode.NONE) {
+                    return H2Result.toResult(codecs, result.getUpdateCount());
+                } else {
+                    return H2Result.toResult(codecs, result.getGeneratedKeys(), result.getUpdateCount(), client.getScheduler());
                 }
-            });
+            }
+        } catch (DbException e) {
+            throw H2DatabaseExceptionFactory.convert(e);
+        } finally {
+            if (release) {
+                running.release(command, client);
+            }
+        }
     }
 
     private int getIndex(String identifier) {
+        int index = this.parsedSql.getParameterIndex(identifier);
+
+        if (index != -1) {
+            return index;
+        }
+
         Matcher matcher = PARAMETER_SYMBOLS.matcher(identifier);
 
         if (!matcher.find()) {
@@ -177,16 +350,83 @@ public final class H2Statement implements Statement {
         return Integer.parseInt(matcher.group(BIND_POSITION_NUMBER_GROUP)) - 1;
     }
 
+    /**
+     * Tracks the command executing for a subscription so that a concurrent cancellation can cancel it. A command is stopped before it is handed back to the client, so a
+     * cancellation either reaches it while it is still owned by this subscription, and the command is discarded, or not at all.
+     */
+    private static final class RunningCommand {
+
+        private CommandInterface command;
+
+        private CommandInterface cancelledCommand;
+
+        private boolean cancelled;
+
+        synchronized boolean start(CommandInterface command) {
+            if (this.cancelled) {
+                return false;
+            }
+
+            this.command = command;
+            return true;
+        }
+
+        /**
+         * Stop tracking {@code command}.
+         *
+         * @return whether {@code command} got cancelled
+         */
+        synchronized boolean stop(CommandInterface command) {
+            if (this.command == command) {
+                this.command = null;
+            }
+
+            return this.cancelledCommand == command;
+        }
+
+        /**
+         * Stop tracking {@code command} and hand it back to {@code client}, discarding it if it got cancelled.
+         */
+        void release(CommandInterface command, Client client) {
+            if (stop(command)) {
+                client.discardCommand(command);
+            } else {
+                client.releaseCommand(command);
+            }
+        }
+
+        synchronized boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        synchronized void cancel() {
+            this.cancelled = true;
+
+            if (this.command != null) {
+                this.command.cancel();
+                this.cancelledCommand = this.command;
+            }
+        }
+    }
+
     static final class Bindings {
 
-        static final Bindings EMPTY = new Bindings();
+        static final Bindings EMPTY = new Bindings(0);
 
         private final List<Binding> bindings = new ArrayList<>();
 
+        private final List<PendingLob> lobs = new ArrayList<>();
+
+        private final int expectedSize;
+
         private Binding current;
 
         private boolean open = false;
 
+        private Bindings(int expectedSize) {
+            this.expectedSize = expectedSize;
+        }
+
         public boolean isOpen() {
             return this.open;
         }
@@ -199,6 +439,34 @@ public final class H2Statement implements Statement {
                 '}';
         }
 
+        private void addLob(int index, Object value) {
+            Assert.requireTrue(index >= 0, "index must be greater or equal to zero");
+
+            removeLob(index);
+
+            // a placeholder until the LOB is written, so that the binding counts as bound
+            Binding current = getCurrent();
+            current.add(index, ValueNull.INSTANCE);
+            this.lobs.add(new PendingLob(current, index, value));
+        }
+
+        private boolean hasPublishers() {
+            for (PendingLob lob : this.lobs) {
+                if (!(lob.value instanceof ByteBuffer)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private void removeLob(int index) {
+            if (!this.lobs.isEmpty()) {
+                Binding current = getCurrent();
+                this.lobs.removeIf(lob -> lob.binding == current && lob.index == index);
+            }
+        }
+
         private void finish() {
             this.current = null;
             this.open = false;
@@ -206,11 +474,74 @@ public final class H2Statement implements Statement {
 
         private Binding getCurrent() {
             if (this.current == null) {
-                this.current = new Binding();
+                this.current = new Binding(this.expectedSize);
                 this.bindings.add(this.current);
             }
 
             return this.current;
         }
     }
+
+    /**
+     * The bindings of one execution as handed to the client, which binds each binding only once it iterates to it. Iterating writes the pending LOBs of each binding right
+     * before, so a cancelled execution does not write the LOBs of bindings it did not get to. The LOBs are bound to a copy of each binding, concurrent executions of the
+     * statement do not share them.
+     */
+    private final class LobWritingBindings extends AbstractList<Binding> {
+
+        private final Bindings bindings;
+
+        private final Map<PendingLob, Object> contents;
+
+        private LobWritingBindings(Bindings bindings, Map<PendingLob, Object> contents) {
+            this.bindings = bindings;
+            this.contents = contents;
+        }
+
+        @Override
+        public Binding get(int index) {
+            return this.bindings.bindings.get(index);
+        }
+
+        @Override
+        public int size() {
+            return this.bindings.bindings.size();
+        }
+
+        @Override
+        public Iterator<Binding> iterator() {
+            Iterator<Binding> iterator = this.bindings.bindings.iterator();
+
+            return new Iterator<Binding>() {
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Binding next() {
+                    return writeLobs(LobWritingBindings.this.bindings, LobWritingBindings.this.contents, iterator.next());
+                }
+            };
+        }
+    }
+
+    /**
+     * A {@link Blob}, {@link Clob} or {@link ByteBuffer} parameter that is encoded anew for every execution of the statement.
+     */
+    private static final class PendingLob {
+
+        private final Binding binding;
+
+        private final int index;
+
+        private final Object value;
+
+        private PendingLob(Binding binding, int index, Object value) {
+            this.binding = binding;
+            this.index = index;
+            this.value = value;
+        }
+    }
 }
@@ -5,14 +5,24 @@ import io.r2dbc.spi.IsolationLevel;
 import io.r2dbc.spi.Option;
 import io.r2dbc.spi.TransactionDefinition;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
-final class H2TransactionDefinition implements TransactionDefinition {
+/**
+ * An immutable {@link TransactionDefinition} for H2 transactions. Lock wait and statement timeouts apply for the duration of the transaction and are reset to the connection
+ * settings once it completes.
+ */
+public final class H2TransactionDefinition implements TransactionDefinition {
 
     public static final H2TransactionDefinition EMPTY = new H2TransactionDefinition(Collections.emptyMap());
 
+    /**
+     * Statement timeout for all statements executed within the transaction.
+     */
+    public static final Option<Duration> STATEMENT_TIMEOUT = Option.valueOf("statementTimeout");
+
     private final Map<Option<?>, Object> options;
 
 
@@ -36,4 +46,12 @@ final class H2TransactionDefinition implements TransactionDefinition {
     public H2TransactionDefinition isolationLevel(IsolationLevel isolationLevel) {
         return with(H2TransactionDefinition.ISOLATION_LEVEL, isolationLevel);
     }
+
+    public H2TransactionDefinition lockWaitTimeout(Duration lockWaitTimeout) {
+        return with(H2TransactionDefinition.LOCK_WAIT_TIMEOUT, lockWaitTimeout);
+    }
+
+    public H2TransactionDefinition statementTimeout(Duration statementTimeout) {
+        return with(H2TransactionDefinition.STATEMENT_TIMEOUT, statementTimeout);
+    }
 }
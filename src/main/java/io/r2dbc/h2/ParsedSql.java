@@ -0,0 +1,312 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2;
+
+import io.r2dbc.h2.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of scanning a SQL text once: the individual statements of a (possibly multi-statement) script and the indexes of its parameter placeholders.
+ * <p>
+ * Statements are separated by semicolons that are not part of a string literal ({@code '...'}), a dollar-quoted string ({@code $$...$$}, as used by {@code CREATE ALIAS}), a quoted
+ * identifier ({@code "..."} or {@code `...`}) or a line or block comment. Statements consisting of whitespace and comments only are dropped. Parsed instances are cached per SQL
+ * text in a bounded cache that evicts the least-recently-used entry once it is full.
+ * <p>
+ * Numbered placeholders ({@code $1}, {@code ?1}) keep their number. Named placeholders ({@code :name}) are rewritten to numbered ones that continue after the highest explicit
+ * number, each distinct name getting one index. Named placeholders cannot be combined with anonymous {@code ?} placeholders.
+ */
+final class ParsedSql {
+
+    static final int CACHE_SIZE = 256;
+
+    // guarded by itself, an access-ordered LinkedHashMap is modified by get() as well
+    private static final Map<String, ParsedSql> CACHE = new LinkedHashMap<String, ParsedSql>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ParsedSql> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final String sql;
+
+    private final List<String> statements;
+
+    private final Map<String, Integer> parameterIndexes;
+
+    private final int parameterCount;
+
+    private ParsedSql(String sql, List<String> statements, Map<String, Integer> parameterIndexes, int parameterCount) {
+        this.sql = sql;
+        this.statements = statements;
+        this.parameterIndexes = parameterIndexes;
+        this.parameterCount = parameterCount;
+    }
+
+    /**
+     * Returns the {@link ParsedSql} for {@code sql}, scanning it only if it is not cached yet.
+     *
+     * @param sql the SQL text
+     * @return the parsed SQL
+     * @throws IllegalArgumentException if {@code sql} is {@code null}
+     */
+    static ParsedSql parse(String sql) {
+        Assert.requireNonNull(sql, "sql must not be null");
+
+        ParsedSql parsed;
+        synchronized (CACHE) {
+            parsed = CACHE.get(sql);
+        }
+
+        if (parsed != null) {
+            return parsed;
+        }
+
+        // scan outside the lock, a concurrent scan of the same SQL yields an equivalent instance
+        parsed = scan(sql);
+
+        synchronized (CACHE) {
+            ParsedSql concurrent = CACHE.putIfAbsent(sql, parsed);
+            return concurrent != null ? concurrent : parsed;
+        }
+    }
+
+    /**
+     * Returns the SQL text this instance was parsed from.
+     *
+     * @return the SQL text
+     */
+    String getSql() {
+        return this.sql;
+    }
+
+    /**
+     * Returns the trimmed statements, in order of appearance.
+     *
+     * @return the statements
+     */
+    List<String> getStatements() {
+        return this.statements;
+    }
+
+    /**
+     * Returns the zero-based index of the placeholder {@code name}, e.g. {@code $1}, {@code ?1}, {@code :name} or {@code name}.
+     *
+     * @param name the placeholder name
+     * @return the index or {@code -1} if the SQL text does not contain such a placeholder
+     */
+    int getParameterIndex(String name) {
+        Integer index = this.parameterIndexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the number of numbered and named placeholders, i.e. the highest placeholder index plus one. Anonymous {@code ?} placeholders are not counted.
+     *
+     * @return the number of placeholders
+     */
+    int getParameterCount() {
+        return this.parameterCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ParsedSql{" +
+            "sql='" + this.sql + '\'' +
+            ", statements=" + this.statements +
+            ", parameterIndexes=" + this.parameterIndexes +
+            '}';
+    }
+
+    private static ParsedSql scan(String sql) {
+        List<int[]> segments = new ArrayList<>();
+        List<int[]> namedPlaceholders = new ArrayList<>();
+        Map<String, Integer> parameterIndexes = new HashMap<>();
+        int maxIndex = 0;
+        int length = sql.length();
+        int start = 0;
+        boolean content = false;
+        int i = 0;
+
+        while (i < length) {
+            char c = sql.charAt(i);
+
+            switch (c) {
+                case '\'':
+                case '"':
+                case '`':
+                    i = skipQuoted(sql, i, c);
+                    content = true;
+                    continue;
+                case '$':
+                case '?':
+                    if (c == '$' && i + 1 < length && sql.charAt(i + 1) == '$') {
+                        int end = sql.indexOf("$$", i + 2);
+                        i = end < 0 ? length : end + 2;
+                        content = true;
+                        continue;
+                    }
+                    if (i + 1 < length && isDigit(sql.charAt(i + 1))) {
+                        int end = skipDigits(sql, i + 1);
+                        int number = Integer.parseInt(sql.substring(i + 1, end));
+                        parameterIndexes.put("$" + number, number - 1);
+                        parameterIndexes.put("?" + number, number - 1);
+                        maxIndex = Math.max(maxIndex, number);
+                        i = end;
+                        content = true;
+                        continue;
+                    }
+                    break;
+                case ':':
+                    if (isNamedPlaceholder(sql, i)) {
+                        int end = i + 2;
+                        while (end < length && Character.isJavaIdentifierPart(sql.charAt(end))) {
+                            end++;
+                        }
+                        namedPlaceholders.add(new int[]{i, end});
+                        i = end;
+                        content = true;
+                        continue;
+                    }
+                    break;
+                case '-':
+                case '/':
+                    if (i + 1 < length && sql.charAt(i + 1) == c) {
+                        i = skipLineComment(sql, i + 2);
+                        continue;
+                    }
+                    if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                        int end = sql.indexOf("*/", i + 2);
+                        i = end < 0 ? length : end + 2;
+                        continue;
+                    }
+                    break;
+                case ';':
+                    if (content) {
+                        segments.add(new int[]{start, i});
+                    }
+                    start = i + 1;
+                    content = false;
+                    i++;
+                    continue;
+                default:
+                    break;
+            }
+
+            if (!Character.isWhitespace(c)) {
+                content = true;
+            }
+            i++;
+        }
+
+        if (content) {
+            segments.add(new int[]{start, length});
+        }
+
+        // named placeholders are rewritten to numbered ones, continuing after the highest explicit number
+        Map<String, Integer> namedIndexes = new HashMap<>();
+        for (int[] placeholder : namedPlaceholders) {
+            String name = sql.substring(placeholder[0] + 1, placeholder[1]);
+            if (!namedIndexes.containsKey(name)) {
+                int index = maxIndex + namedIndexes.size();
+                namedIndexes.put(name, index);
+                parameterIndexes.put(name, index);
+                parameterIndexes.put(":" + name, index);
+            }
+        }
+
+        List<String> statements = new ArrayList<>(segments.size());
+        int placeholder = 0;
+        for (int[] segment : segments) {
+            StringBuilder statement = new StringBuilder();
+            int position = segment[0];
+
+            for (; placeholder < namedPlaceholders.size() && namedPlaceholders.get(placeholder)[0] < segment[1]; placeholder++) {
+                int[] named = namedPlaceholders.get(placeholder);
+                int index = namedIndexes.get(sql.substring(named[0] + 1, named[1]));
+                statement.append(sql, position, named[0]).append('?').append(index + 1);
+                position = named[1];
+            }
+
+            statements.add(statement.append(sql, position, segment[1]).toString().trim());
+        }
+
+        return new ParsedSql(sql, Collections.unmodifiableList(statements), parameterIndexes, maxIndex + namedIndexes.size());
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int skipDigits(String sql, int offset) {
+        int i = offset;
+
+        while (i < sql.length() && isDigit(sql.charAt(i))) {
+            i++;
+        }
+
+        return i;
+    }
+
+    private static boolean isNamedPlaceholder(String sql, int offset) {
+        // exclude casts (::) and placeholders glued to a preceding token, such as JSON_OBJECT('key':value)
+        if (offset + 1 >= sql.length() || !Character.isJavaIdentifierStart(sql.charAt(offset + 1)) || sql.charAt(offset + 1) == '$') {
+            return false;
+        }
+
+        if (offset == 0) {
+            return true;
+        }
+
+        char previous = sql.charAt(offset - 1);
+        return previous != ':' && previous != '\'' && previous != '"' && previous != '`' && !Character.isJavaIdentifierPart(previous);
+    }
+
+    private static int skipQuoted(String sql, int offset, char quote) {
+        int i = offset + 1;
+
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                // a doubled quote is an escaped quote
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+
+        return i;
+    }
+
+    private static int skipLineComment(String sql, int offset) {
+        int i = offset;
+
+        while (i < sql.length() && sql.charAt(i) != '\n' && sql.charAt(i) != '\r') {
+            i++;
+        }
+
+        return i;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runtime detection of virtual threads (JDK 21+). The driver is compiled for Java 8, so virtual threads are only reached through reflection.
+ */
+final class VirtualThreads {
+
+    @Nullable
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findFactoryMethod();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Whether the running JVM supports virtual threads.
+     *
+     * @return {@code true} if virtual threads are available
+     */
+    static boolean isAvailable() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Returns the shared {@link Scheduler} that runs each task on a new virtual thread.
+     *
+     * @return the virtual thread {@link Scheduler}
+     * @throws IllegalStateException if virtual threads are not available
+     */
+    static Scheduler getScheduler() {
+        if (!isAvailable()) {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer");
+        }
+
+        return SchedulerHolder.SCHEDULER;
+    }
+
+    @Nullable
+    private static Method findFactoryMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static final class SchedulerHolder {
+
+        private static final Scheduler SCHEDULER = Schedulers.fromExecutorService(newExecutor(), "h2-virtual");
+
+        private static ExecutorService newExecutor() {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create virtual thread executor", e);
+            }
+        }
+    }
+}
@@ -18,19 +18,44 @@ package io.r2dbc.h2.client;
 
 import io.r2dbc.h2.util.Assert;
 import org.h2.value.Value;
+import reactor.util.annotation.Nullable;
 
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 /**
  * A collection of {@link Value}s for a single bind invocation of an {@link Client}.
+ * <p>
+ * Values are kept in a dense array indexed by their parameter index. Slots that were never bound are {@code null}.
  */
 public final class Binding {
 
     static final Binding EMPTY = new Binding();
 
-    private final SortedMap<Integer, Value> parameters = new TreeMap<>();
+    private static final Value[] NO_VALUES = new Value[0];
+
+    private Value[] values;
+
+    private int size;
+
+    /**
+     * Creates a new instance.
+     */
+    public Binding() {
+        this.values = NO_VALUES;
+    }
+
+    /**
+     * Creates a new instance sized for {@code expectedSize} parameters.
+     *
+     * @param expectedSize the expected number of parameters
+     * @throws IllegalArgumentException if {@code expectedSize} is negative
+     */
+    public Binding(int expectedSize) {
+        Assert.requireTrue(expectedSize >= 0, "expectedSize must be greater or equal to zero");
+
+        this.values = expectedSize == 0 ? NO_VALUES : new Value[expectedSize];
+    }
 
     /**
      * Add a {@link Value} to the binding.
@@ -38,17 +63,48 @@ public final class Binding {
      * @param index the index of the {@link Value}
      * @param value the {@link Value}
      * @return this {@link Binding}
-     * @throws NullPointerException if {@code index} or {@code parameter} is {@code null}
+     * @throws IllegalArgumentException if {@code index} or {@code parameter} is {@code null}
      */
     public Binding add(Integer index, Value value) {
         Assert.requireNonNull(index, "index must not be null");
+
+        return add(index.intValue(), value);
+    }
+
+    /**
+     * Add a {@link Value} to the binding.
+     *
+     * @param index the index of the {@link Value}
+     * @param value the {@link Value}
+     * @return this {@link Binding}
+     * @throws IllegalArgumentException if {@code index} is negative or {@code parameter} is {@code null}
+     */
+    public Binding add(int index, Value value) {
+        Assert.requireTrue(index >= 0, "index must be greater or equal to zero");
         Assert.requireNonNull(value, "value must not be null");
 
-        this.parameters.put(index, value);
+        if (index >= this.values.length) {
+            this.values = Arrays.copyOf(this.values, Math.max(index + 1, this.values.length * 2));
+        }
+
+        this.values[index] = value;
+        this.size = Math.max(this.size, index + 1);
 
         return this;
     }
 
+    /**
+     * Returns a copy of this binding, e.g. to add values for a single execution without changing this binding.
+     *
+     * @return a new {@link Binding} with the same values
+     */
+    public Binding copy() {
+        Binding copy = new Binding();
+        copy.values = this.size == 0 ? NO_VALUES : Arrays.copyOf(this.values, this.values.length);
+        copy.size = this.size;
+        return copy;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -58,22 +114,54 @@ public final class Binding {
             return false;
         }
         Binding that = (Binding) o;
-        return Objects.equals(this.parameters, that.parameters);
+        if (this.size != that.size) {
+            return false;
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (!Objects.equals(this.values[i], that.values[i])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.parameters);
+        int result = 1;
+        for (int i = 0; i < this.size; i++) {
+            result = 31 * result + Objects.hashCode(this.values[i]);
+        }
+        return result;
     }
 
     @Override
     public String toString() {
         return "Binding{" +
-            "parameters=" + this.parameters +
+            "parameters=" + Arrays.toString(Arrays.copyOf(this.values, this.size)) +
             '}';
     }
 
-    SortedMap<Integer, Value> getParameters() {
-        return this.parameters;
+    /**
+     * Returns the {@link Value} bound to {@code index}.
+     *
+     * @param index the parameter index
+     * @return the bound {@link Value} or {@code null} if {@code index} was not bound
+     */
+    @Nullable
+    Value get(int index) {
+        return index < this.size ? this.values[index] : null;
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the highest bound index plus one.
+     *
+     * @return the number of parameter slots covered by this binding
+     */
+    int size() {
+        return this.size;
     }
 }
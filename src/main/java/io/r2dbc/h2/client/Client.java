@@ -23,7 +23,10 @@ import org.h2.engine.Session;
 import org.h2.result.ResultInterface;
 import org.h2.result.ResultWithGeneratedKeys;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -41,6 +44,24 @@ public interface Client {
      */
     Mono<Void> close();
 
+    /**
+     * Commit the current transaction.
+     */
+    default void commit() {
+        execute("COMMIT");
+    }
+
+    /**
+     * Create a savepoint in the current transaction.
+     *
+     * @param name the name of the savepoint
+     * @throws IllegalArgumentException if {@code name} is {@code null}
+     */
+    default void createSavepoint(String name) {
+        Assert.requireNonNull(name, "name must not be null");
+        execute("SAVEPOINT " + name);
+    }
+
     /**
      * Disable auto-commit.  Typically used at the beginning of a transaction.
      *
@@ -69,14 +90,78 @@ public interface Client {
 
         while (iterator.hasNext()) {
             CommandInterface command = iterator.next();
-            update(command, false);
-
-            if (command instanceof Command) {
-                ((Command) command).close();
+            try {
+                update(command, false);
+            } finally {
+                releaseCommand(command);
             }
         }
     }
 
+    /**
+     * Return the lock wait timeout of the session.
+     *
+     * @return the lock wait timeout
+     */
+    default Duration getLockTimeout() {
+        CommandInterface command = prepareCommand("CALL LOCK_TIMEOUT()", Collections.emptyList()).next();
+
+        try {
+            ResultInterface result = query(command);
+            result.next();
+            long timeout = result.currentRow()[0].getLong();
+            result.close();
+            return Duration.ofMillis(timeout);
+        } finally {
+            releaseCommand(command);
+        }
+    }
+
+    /**
+     * Configure how long the session waits for a lock before failing.
+     *
+     * @param timeout the lock wait timeout
+     * @throws IllegalArgumentException if {@code timeout} is {@code null} or negative
+     */
+    default void setLockTimeout(Duration timeout) {
+        Assert.requireNonNull(timeout, "timeout must not be null");
+        Assert.requireTrue(!timeout.isNegative(), "timeout must not be negative");
+
+        execute("SET LOCK_TIMEOUT " + Math.min(timeout.toMillis(), Integer.MAX_VALUE));
+    }
+
+    /**
+     * Return the statement timeout, {@link Duration#ZERO} if statements may run indefinitely. Defaults to the query timeout of the session.
+     *
+     * @return the statement timeout
+     */
+    default Duration getStatementTimeout() {
+        CommandInterface command = prepareCommand("SELECT SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE SETTING_NAME = 'QUERY_TIMEOUT'", Collections.emptyList()).next();
+
+        try {
+            ResultInterface result = query(command);
+            long timeout = result.next() ? Long.parseLong(result.currentRow()[0].getString()) : 0;
+            result.close();
+            return Duration.ofMillis(timeout);
+        } finally {
+            releaseCommand(command);
+        }
+    }
+
+    /**
+     * Configure the time after which running commands are cancelled. {@link Duration#ZERO} disables the timeout. Defaults to configuring the query timeout of the session.
+     * A query with a fetch size keeps running while its result is read, its timeout only ends once its command is released.
+     *
+     * @param timeout the statement timeout
+     * @throws IllegalArgumentException if {@code timeout} is {@code null} or negative
+     */
+    default void setStatementTimeout(Duration timeout) {
+        Assert.requireNonNull(timeout, "timeout must not be null");
+        Assert.requireTrue(!timeout.isNegative(), "timeout must not be negative");
+
+        execute("SET QUERY_TIMEOUT " + Math.min(timeout.toMillis(), Integer.MAX_VALUE));
+    }
+
     /**
      * Whether the {@link Client} is currently in a transaction.
      *
@@ -84,8 +169,40 @@ public interface Client {
      */
     boolean inTransaction();
 
+    /**
+     * Release a savepoint of the current transaction.
+     *
+     * @param name the name of the savepoint
+     * @throws IllegalArgumentException if {@code name} is {@code null}
+     */
+    default void releaseSavepoint(String name) {
+        Assert.requireNonNull(name, "name must not be null");
+        execute("RELEASE SAVEPOINT " + name);
+    }
+
+    /**
+     * Roll back the current transaction.
+     */
+    default void rollback() {
+        execute("ROLLBACK");
+    }
+
+    /**
+     * Roll back the current transaction to a savepoint.
+     *
+     * @param name the name of the savepoint
+     * @throws IllegalArgumentException if {@code name} is {@code null}
+     */
+    default void rollbackToSavepoint(String name) {
+        Assert.requireNonNull(name, "name must not be null");
+        execute("ROLLBACK TO SAVEPOINT " + name);
+    }
+
     /**
      * Transform a SQL statement and a set of {@link Binding}s into a {@link CommandInterface}.
+     * <p>
+     * The returned {@link Iterator} yields one command per binding. Implementations may prepare the command once and re-apply the parameters of each binding to the same
+     * command, so callers must execute and {@link #releaseCommand(CommandInterface) release} each command before requesting the next one.
      *
      * @param sql      to either query or update
      * @param bindings the parameter bindings to use
@@ -93,6 +210,28 @@ public interface Client {
      */
     Iterator<CommandInterface> prepareCommand(String sql, List<Binding> bindings);
 
+    /**
+     * Hand back a {@link CommandInterface} obtained from {@link #prepareCommand(String, List)} once its execution is complete. The {@link Client} may retain the command for
+     * reuse.
+     *
+     * @param command the {@link CommandInterface} to release
+     */
+    default void releaseCommand(CommandInterface command) {
+        if (command instanceof Command) {
+            ((Command) command).close();
+        }
+    }
+
+    /**
+     * Hand back a {@link CommandInterface} obtained from {@link #prepareCommand(String, List)} that was {@link CommandInterface#cancel() cancelled}. H2 keeps the cancellation
+     * pending until the next execution of the command, so unlike {@link #releaseCommand(CommandInterface)} the {@link Client} must neither retain the command nor close it, which
+     * would allow the session to reuse it.
+     *
+     * @param command the cancelled {@link CommandInterface}
+     */
+    default void discardCommand(CommandInterface command) {
+    }
+
     /**
      * Execute a query.
      *
@@ -102,6 +241,19 @@ public interface Client {
      */
     ResultInterface query(CommandInterface command);
 
+    /**
+     * Execute a query returning at most {@code maxRows} rows, fetching {@code fetchSize} rows at a time. A fetch size greater than zero requests a streamed result that computes or
+     * transfers rows as they are read and that must be closed before the command is {@link #releaseCommand(CommandInterface) released}.
+     *
+     * @param command   the {@link CommandInterface} to query
+     * @param maxRows   the maximum number of rows, {@code 0} for no limit
+     * @param fetchSize the number of rows to fetch at a time, {@code 0} to materialize the complete result
+     * @return the result of the query
+     */
+    default ResultInterface query(CommandInterface command, long maxRows, int fetchSize) {
+        return query(command);
+    }
+
     /**
      * Execute an update.
      *
@@ -116,4 +268,14 @@ public interface Client {
      * Return back the current {@link Session} to the database.
      */
     Session getSession();
+
+    /**
+     * Return the {@link Scheduler} that blocking work against the {@link Session} is moved onto. Defaults to {@link Schedulers#immediate()}, i.e. work runs on the subscribing
+     * thread.
+     *
+     * @return the {@link Scheduler} to run session work on
+     */
+    default Scheduler getScheduler() {
+        return Schedulers.immediate();
+    }
 }
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2.client;
+
+import io.r2dbc.h2.util.Assert;
+import org.h2.command.Command;
+import org.h2.command.CommandInterface;
+import reactor.util.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * A bounded, least-recently-used cache of prepared {@link CommandInterface commands} keyed by their SQL.
+ * <p>
+ * Commands are leased: {@link #acquire(String, Function)} removes an idle command from the cache (or prepares a new one) and {@link #release(CommandInterface)} hands it back once its
+ * execution is complete. A command is therefore never shared between two concurrent executions. {@link #invalidate()} discards all idle commands and marks outstanding leases as
+ * stale so they get closed instead of cached when released. Commands that may still carry state of their previous execution, such as a pending cancellation, must be handed
+ * back through {@link #discard(CommandInterface)} instead.
+ * <p>
+ * <i>This class is threadsafe</i>
+ */
+public final class CommandCache {
+
+    private final int maxSize;
+
+    private final Map<String, CommandInterface> idle;
+
+    // commands do not override equals/hashCode, abandoned leases must not pin their command
+    private final Map<CommandInterface, Lease> leases = new WeakHashMap<>();
+
+    private long generation;
+
+    private long hits;
+
+    private long misses;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxSize the maximum number of idle commands to retain. {@code 0} disables caching.
+     * @throws IllegalArgumentException if {@code maxSize} is negative
+     */
+    CommandCache(int maxSize) {
+        Assert.requireTrue(maxSize >= 0, "maxSize must be greater or equal to zero");
+
+        this.maxSize = maxSize;
+        this.idle = new LinkedHashMap<String, CommandInterface>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CommandInterface> eldest) {
+                if (size() > CommandCache.this.maxSize) {
+                    eldest.getValue().close();
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of times a command was served from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Returns the number of times a command had to be prepared.
+     *
+     * @return the number of cache misses
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Returns the maximum number of idle commands retained by this cache.
+     *
+     * @return the maximum size
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Returns the number of idle commands currently retained by this cache.
+     *
+     * @return the number of idle commands
+     */
+    public synchronized int size() {
+        return this.idle.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CommandCache{" +
+            "maxSize=" + this.maxSize +
+            ", size=" + this.idle.size() +
+            ", hits=" + this.hits +
+            ", misses=" + this.misses +
+            '}';
+    }
+
+    /**
+     * Lease a command for {@code sql}, either from the cache or by preparing it with {@code prepare}.
+     *
+     * @param sql     the SQL of the command
+     * @param prepare the function preparing a command on a cache miss
+     * @return the leased command
+     */
+    CommandInterface acquire(String sql, Function<String, CommandInterface> prepare) {
+        CommandInterface command;
+        long generation;
+
+        synchronized (this) {
+            command = this.idle.remove(sql);
+            generation = this.generation;
+
+            if (command != null) {
+                this.hits++;
+                this.leases.put(command, new Lease(sql, generation));
+                return command;
+            }
+
+            this.misses++;
+        }
+
+        command = prepare.apply(sql);
+
+        synchronized (this) {
+            this.leases.put(command, new Lease(sql, generation));
+        }
+
+        return command;
+    }
+
+    /**
+     * Return a previously {@link #acquire(String, Function) leased} command to the cache. Commands that were not leased from this cache, that are stale, or that do not fit
+     * into the cache are closed.
+     *
+     * @param command the command to release
+     */
+    void release(CommandInterface command) {
+        CommandInterface toClose = command;
+
+        synchronized (this) {
+            Lease lease = this.leases.remove(command);
+
+            if (lease != null && lease.generation == this.generation && this.maxSize > 0) {
+                toClose = this.idle.put(lease.sql, command);
+            }
+        }
+
+        if (toClose != null) {
+            toClose.close();
+        }
+    }
+
+    /**
+     * Return a previously {@link #acquire(String, Function) leased} command that must not be reused because it got cancelled. H2 keeps a cancellation pending until the next
+     * execution of the command, which would then fail. Remote commands are closed, which frees them on the server. Embedded commands are dropped without closing them: they
+     * hold no resources besides memory, and embedded sessions cache closed commands themselves and would hand them out again.
+     *
+     * @param command the command to discard
+     */
+    void discard(CommandInterface command) {
+        synchronized (this) {
+            this.leases.remove(command);
+        }
+
+        if (!(command instanceof Command)) {
+            command.close();
+        }
+    }
+
+    /**
+     * Returns the SQL a leased command was prepared for.
+     *
+     * @param command the leased command
+     * @return the SQL of {@code command}, {@code null} if it is not leased from this cache
+     */
+    @Nullable
+    synchronized String getSql(CommandInterface command) {
+        Lease lease = this.leases.get(command);
+        return lease == null ? null : lease.sql;
+    }
+
+    /**
+     * Discard all idle commands and mark outstanding leases as stale, typically after a schema change.
+     */
+    void invalidate() {
+        List<CommandInterface> discarded;
+
+        synchronized (this) {
+            this.generation++;
+            discarded = new ArrayList<>(this.idle.values());
+            this.idle.clear();
+        }
+
+        for (CommandInterface command : discarded) {
+            command.close();
+        }
+    }
+
+    /**
+     * Close all idle commands and forget about outstanding leases.
+     */
+    void close() {
+        invalidate();
+
+        synchronized (this) {
+            this.leases.clear();
+        }
+    }
+
+    private static final class Lease {
+
+        private final String sql;
+
+        private final long generation;
+
+        private Lease(String sql, long generation) {
+            this.sql = sql;
+            this.generation = generation;
+        }
+    }
+}
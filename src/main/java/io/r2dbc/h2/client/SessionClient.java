@@ -18,30 +18,58 @@ package io.r2dbc.h2.client;
 
 import io.r2dbc.h2.H2DatabaseExceptionFactory;
 import io.r2dbc.h2.util.Assert;
+import org.h2.api.ErrorCode;
 import org.h2.command.CommandInterface;
 import org.h2.engine.ConnectionInfo;
 import org.h2.engine.Session;
+import org.h2.engine.SessionLocal;
 import org.h2.engine.SessionRemote;
 import org.h2.expression.ParameterInterface;
 import org.h2.message.DbException;
 import org.h2.result.ResultInterface;
 import org.h2.result.ResultWithGeneratedKeys;
 import org.h2.value.Value;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.Logger;
 import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * An implementation of {@link Client} that wraps an H2 {@link Session}.
  */
 public final class SessionClient implements Client {
 
+    /**
+     * Default number of prepared commands cached per session.
+     */
+    public static final int DEFAULT_COMMAND_CACHE_SIZE = 64;
+
+    // settings that are read while a command runs, changing them leaves prepared commands valid
+    private static final Set<String> RUNTIME_SETTINGS = new HashSet<>(Arrays.asList("@", "CACHE_SIZE", "DEFAULT_LOCK_TIMEOUT", "LAZY_QUERY_EXECUTION", "LOCK_MODE",
+        "LOCK_TIMEOUT", "MAX_MEMORY_ROWS", "MAX_MEMORY_UNDO", "QUERY_STATISTICS", "QUERY_STATISTICS_MAX_ENTRIES", "QUERY_TIMEOUT", "RETENTION_TIME", "SESSION", "THROTTLE",
+        "TRACE_LEVEL_FILE", "TRACE_LEVEL_SYSTEM_OUT", "TRACE_MAX_FILE_SIZE", "WRITE_DELAY"));
+
+    private static final Pattern SETTING = Pattern.compile("^\\s*SET\\s+(@|\\w+)", Pattern.CASE_INSENSITIVE);
+
     private final Logger logger = Loggers.getLogger(this.getClass());
 
     private final Collection<Binding> emptyBinding = Collections.singleton(Binding.EMPTY);
@@ -50,6 +78,27 @@ public final class SessionClient implements Client {
 
     private final boolean shutdownDatabaseOnClose;
 
+    private final CommandCache commandCache;
+
+    private final TemporaryLobs temporaryLobs = new TemporaryLobs();
+
+    private final Scheduler scheduler;
+
+    // executions whose statement timeout fired, their commands carry a pending cancellation and must not be reused
+    private final Map<CommandInterface, StatementTimeout> timeouts = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    // statement timeouts of streamed results that are still open, they run until the command is released
+    private final Map<CommandInterface, StatementTimeout> streamingTimeouts = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private volatile long statementTimeout;
+
+    // transaction control bypasses the command cache: these commands are prepared once per session and never invalidated
+    @Nullable
+    private CommandInterface commit;
+
+    @Nullable
+    private CommandInterface rollback;
+
     /**
      * Creates a new instance.
      *
@@ -57,8 +106,33 @@ public final class SessionClient implements Client {
      * @throws NullPointerException if {@code connectionInfo} is {@code null}
      */
     public SessionClient(ConnectionInfo connectionInfo, boolean shutdownDatabaseOnClose) {
+        this(connectionInfo, shutdownDatabaseOnClose, DEFAULT_COMMAND_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param connectionInfo   the connection info to use
+     * @param commandCacheSize the maximum number of prepared commands to cache, {@code 0} to disable caching
+     * @throws NullPointerException if {@code connectionInfo} is {@code null}
+     */
+    public SessionClient(ConnectionInfo connectionInfo, boolean shutdownDatabaseOnClose, int commandCacheSize) {
+        this(connectionInfo, shutdownDatabaseOnClose, commandCacheSize, Schedulers.immediate());
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param connectionInfo   the connection info to use
+     * @param commandCacheSize the maximum number of prepared commands to cache, {@code 0} to disable caching
+     * @param scheduler        the {@link Scheduler} to run session work on
+     * @throws NullPointerException if {@code connectionInfo} or {@code scheduler} is {@code null}
+     */
+    public SessionClient(ConnectionInfo connectionInfo, boolean shutdownDatabaseOnClose, int commandCacheSize, Scheduler scheduler) {
         Assert.requireNonNull(connectionInfo, "connectionInfo must not be null");
 
+        this.scheduler = Assert.requireNonNull(scheduler, "scheduler must not be null");
+        this.commandCache = new CommandCache(commandCacheSize);
         this.session = new SessionRemote(connectionInfo).connectEmbeddedOrServer(false);
         this.shutdownDatabaseOnClose = shutdownDatabaseOnClose;
     }
@@ -67,6 +141,10 @@ public final class SessionClient implements Client {
     public Mono<Void> close() {
         return Mono.defer(() -> {
 
+            this.commandCache.close();
+            this.temporaryLobs.close();
+            closeTransactionCommands();
+
             if (this.shutdownDatabaseOnClose) {
                 try {
                     CommandInterface shutdown = this.session.prepareCommand("SHUTDOWN");
@@ -76,8 +154,23 @@ public final class SessionClient implements Client {
                 }
             }
             this.session.close();
-            return Mono.empty();
-        });
+            return Mono.<Void>empty();
+        }).subscribeOn(this.scheduler);
+    }
+
+    @Override
+    public void commit() {
+        if (this.commit == null) {
+            this.commit = this.session.prepareCommand("COMMIT");
+        }
+
+        this.commit.executeUpdate(null);
+    }
+
+    @Override
+    public void createSavepoint(String name) {
+        Assert.requireNonNull(name, "name must not be null");
+        executeCached("SAVEPOINT " + name);
     }
 
     @Override
@@ -90,6 +183,36 @@ public final class SessionClient implements Client {
         this.session.setAutoCommit(true);
     }
 
+    @Override
+    public Duration getLockTimeout() {
+        if (this.session instanceof SessionLocal) {
+            return Duration.ofMillis(((SessionLocal) this.session).getLockTimeout());
+        }
+
+        return Client.super.getLockTimeout();
+    }
+
+    @Override
+    public void setLockTimeout(Duration timeout) {
+        int millis = toMillis(timeout);
+
+        if (this.session instanceof SessionLocal) {
+            ((SessionLocal) this.session).setLockTimeout(millis);
+        } else {
+            execute("SET LOCK_TIMEOUT " + millis);
+        }
+    }
+
+    @Override
+    public Duration getStatementTimeout() {
+        return Duration.ofMillis(this.statementTimeout);
+    }
+
+    @Override
+    public void setStatementTimeout(Duration timeout) {
+        this.statementTimeout = toMillis(timeout);
+    }
+
     @Override
     public boolean inTransaction() {
         return !this.session.getAutoCommit();
@@ -102,11 +225,13 @@ public final class SessionClient implements Client {
 
         if (!bindings.isEmpty()) {
             Binding binding = bindings.get(bindings.size()-1);
-            if (binding.getParameters().isEmpty()) {
+            if (binding.isEmpty()) {
                 throw new IllegalStateException("You got an unbound binder!");
             }
         }
 
+        // Each binding leases the command from the cache. As long as the previous execution released it, that is the very same command: it is prepared once and only
+        // the parameters are re-applied for every further binding.
         Iterator<Binding> bindingIterator = bindings.isEmpty() ? emptyBinding.iterator() : bindings.iterator();
         return new Iterator<CommandInterface>() {
 
@@ -131,19 +256,102 @@ public final class SessionClient implements Client {
 
     @Override
     public ResultInterface query(CommandInterface command) {
+        return query(command, 0, 0);
+    }
+
+    @Override
+    public ResultInterface query(CommandInterface command, long maxRows, int fetchSize) {
+        Assert.requireTrue(maxRows >= 0, "maxRows must be greater or equal to zero");
+        Assert.requireTrue(fetchSize >= 0, "fetchSize must be greater or equal to zero");
 
+        // lazy execution is a session setting that is evaluated when the query starts, the result stays lazy afterwards
+        SessionLocal lazySession = fetchSize > 0 && this.session instanceof SessionLocal && !((SessionLocal) this.session).isLazyQueryExecution() ? (SessionLocal) this.session : null;
+
+        // a streamed result computes its rows after the execution returned, its timeout keeps running until the command is released. H2 checks the cancellation of the
+        // command that produces a row, so the timeout only ever fails this result and not other commands of the session.
+        StatementTimeout timeout = scheduleTimeout(command);
+        boolean streaming = false;
         try {
-            ResultInterface result = command.executeQuery(Integer.MAX_VALUE, Integer.MAX_VALUE, false);
+            if (lazySession != null) {
+                lazySession.setLazyQueryExecution(true);
+            }
+
+            ResultInterface result = command.executeQuery(maxRows == 0 ? Integer.MAX_VALUE : maxRows, fetchSize == 0 ? Integer.MAX_VALUE : fetchSize, false);
             this.logger.debug("Response: {}", result);
+            streaming = fetchSize > 0 && timeout != null;
             return result;
         } catch (DbException e) {
             throw H2DatabaseExceptionFactory.convert(e);
+        } finally {
+            if (lazySession != null) {
+                lazySession.setLazyQueryExecution(false);
+            }
+
+            if (streaming) {
+                this.streamingTimeouts.put(command, timeout);
+            } else {
+                completeTimeout(command, timeout);
+            }
+        }
+    }
+
+    @Override
+    public void releaseSavepoint(String name) {
+        Assert.requireNonNull(name, "name must not be null");
+        executeCached("RELEASE SAVEPOINT " + name);
+    }
+
+    @Override
+    public void rollback() {
+        if (this.rollback == null) {
+            this.rollback = this.session.prepareCommand("ROLLBACK");
         }
+
+        this.rollback.executeUpdate(null);
+    }
+
+    @Override
+    public void rollbackToSavepoint(String name) {
+        Assert.requireNonNull(name, "name must not be null");
+        executeCached("ROLLBACK TO SAVEPOINT " + name);
+    }
+
+    @Override
+    public void discardCommand(CommandInterface command) {
+        completeStreamingTimeout(command);
+        this.timeouts.remove(command);
+        clearParameters(command);
+        this.commandCache.discard(command);
+    }
+
+    @Override
+    public void releaseCommand(CommandInterface command) {
+        completeStreamingTimeout(command);
+
+        if (this.timeouts.containsKey(command)) {
+            discardCommand(command);
+            return;
+        }
+
+        clearParameters(command);
+        this.commandCache.release(command);
     }
 
     @Override
     public ResultWithGeneratedKeys update(CommandInterface command, Object generatedColumns) {
-        return command.executeUpdate(generatedColumns);
+        ResultWithGeneratedKeys result;
+        StatementTimeout timeout = scheduleTimeout(command);
+        try {
+            result = command.executeUpdate(generatedColumns);
+        } finally {
+            completeTimeout(command, timeout);
+        }
+
+        if (isSchemaChange(command.getCommandType(), this.commandCache.getSql(command))) {
+            this.commandCache.invalidate();
+        }
+
+        return result;
     }
 
     /**
@@ -154,13 +362,161 @@ public final class SessionClient implements Client {
         return this.session;
     }
 
+    @Override
+    public Scheduler getScheduler() {
+        return this.scheduler;
+    }
+
+    /**
+     * Return the {@link CommandCache} of this session, e.g. to inspect its hit and miss counters.
+     *
+     * @return the {@link CommandCache}
+     */
+    public CommandCache getCommandCache() {
+        return this.commandCache;
+    }
+
+    /**
+     * Return the {@link TemporaryLobs} of this session, e.g. to inspect how many temporary LOBs are outstanding.
+     *
+     * @return the {@link TemporaryLobs}
+     */
+    public TemporaryLobs getTemporaryLobs() {
+        return this.temporaryLobs;
+    }
+
+    /**
+     * Whether a command of the given type may change the schema or session settings that prepared commands depend on. A {@code SET} command only counts if its setting is
+     * not one of the settings that take effect while commands run, such as timeouts and the isolation level.
+     *
+     * @param commandType the {@link CommandInterface#getCommandType() command type}
+     * @param sql         the SQL of the command, {@code null} if unknown
+     * @return {@code true} if cached commands should be discarded after executing such a command
+     */
+    static boolean isSchemaChange(int commandType, @Nullable String sql) {
+        switch (commandType) {
+            case CommandInterface.SET:
+                return sql == null || !isRuntimeSetting(sql);
+            case CommandInterface.SELECT:
+            case CommandInterface.INSERT:
+            case CommandInterface.UPDATE:
+            case CommandInterface.DELETE:
+            case CommandInterface.MERGE:
+            case CommandInterface.CALL:
+            case CommandInterface.EXPLAIN:
+            case CommandInterface.EXPLAIN_ANALYZE:
+            case CommandInterface.BEGIN:
+            case CommandInterface.COMMIT:
+            case CommandInterface.ROLLBACK:
+            case CommandInterface.SAVEPOINT:
+            case CommandInterface.ROLLBACK_TO_SAVEPOINT:
+            case CommandInterface.SET_AUTOCOMMIT_TRUE:
+            case CommandInterface.SET_AUTOCOMMIT_FALSE:
+            case CommandInterface.CHECKPOINT:
+            case CommandInterface.CHECKPOINT_SYNC:
+            case CommandInterface.NO_OPERATION: // shares its value with REPLACE
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private static boolean isRuntimeSetting(String sql) {
+        Matcher matcher = SETTING.matcher(sql);
+        return matcher.find() && RUNTIME_SETTINGS.contains(matcher.group(1).toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Cancel {@code command} on the shared timer once the statement timeout elapses. A cancelled command fails with H2's {@code STATEMENT_WAS_CANCELED} error, which
+     * translates into a {@link io.r2dbc.spi.R2dbcTimeoutException}.
+     */
+    @Nullable
+    private StatementTimeout scheduleTimeout(CommandInterface command) {
+        long timeout = this.statementTimeout;
+
+        if (timeout == 0) {
+            return null;
+        }
+
+        StatementTimeout statementTimeout = new StatementTimeout(command);
+        statementTimeout.schedule(timeout);
+        return statementTimeout;
+    }
+
+    /**
+     * Stop the statement timeout of an execution that returned. If the timer fired nonetheless, the command is remembered so that releasing it discards it.
+     */
+    private void completeTimeout(CommandInterface command, @Nullable StatementTimeout timeout) {
+        if (timeout != null && !timeout.complete()) {
+            this.timeouts.put(command, timeout);
+        }
+    }
+
+    /**
+     * Stop the statement timeout of a streamed result once its command is released, either because the result was consumed or because its subscription was cancelled. If
+     * the timer fired, the command is remembered like any other timed out execution.
+     */
+    private void completeStreamingTimeout(CommandInterface command) {
+        StatementTimeout timeout = this.streamingTimeouts.remove(command);
+
+        if (timeout != null && !timeout.complete()) {
+            this.timeouts.put(command, timeout);
+        }
+    }
+
+    /**
+     * Unbind the parameters of a command whose execution is done and whose result is closed. H2 copied LOB parameters into tables and results, so temporary LOBs are freed.
+     */
+    private void clearParameters(CommandInterface command) {
+        for (ParameterInterface parameter : command.getParameters()) {
+            if (parameter.isValueSet()) {
+                this.temporaryLobs.release(parameter.getParamValue());
+            }
+            parameter.setValue(null, false);
+        }
+    }
+
+    private void closeTransactionCommands() {
+        if (this.commit != null) {
+            this.commit.close();
+            this.commit = null;
+        }
+
+        if (this.rollback != null) {
+            this.rollback.close();
+            this.rollback = null;
+        }
+    }
+
+    /**
+     * Execute a parameterless command without a statement timeout, preparing it only if it is not cached yet.
+     */
+    private void executeCached(String sql) {
+        CommandInterface command = this.commandCache.acquire(sql, this.session::prepareCommand);
+
+        try {
+            command.executeUpdate(null);
+        } finally {
+            this.commandCache.release(command);
+        }
+    }
+
+    private static int toMillis(Duration timeout) {
+        Assert.requireNonNull(timeout, "timeout must not be null");
+        Assert.requireTrue(!timeout.isNegative(), "timeout must not be negative");
+
+        return (int) Math.min(timeout.toMillis(), Integer.MAX_VALUE);
+    }
+
     private CommandInterface createCommand(String sql, Binding binding) {
         try {
-            CommandInterface command = this.session.prepareCommand(sql);
+            CommandInterface command = this.commandCache.acquire(sql, this.session::prepareCommand);
 
-            List<? extends ParameterInterface> parameters = command.getParameters();
-            for (Map.Entry<Integer, Value> entry : binding.getParameters().entrySet()) {
-                parameters.get(entry.getKey()).setValue(entry.getValue(), false);
+            try {
+                bind(command, binding);
+            } catch (RuntimeException e) {
+                releaseCommand(command);
+                throw e;
             }
 
             return command;
@@ -168,4 +524,75 @@ public final class SessionClient implements Client {
             throw H2DatabaseExceptionFactory.convert(e);
         }
     }
+
+    private void bind(CommandInterface command, Binding binding) {
+        List<? extends ParameterInterface> parameters = command.getParameters();
+
+        if (binding.size() > parameters.size()) {
+            throw DbException.getInvalidValueException("parameter index", binding.size());
+        }
+
+        if (binding.isEmpty()) {
+            return;
+        }
+
+        for (int i = 0; i < parameters.size(); i++) {
+            Value value = binding.get(i);
+
+            if (value == null) {
+                throw DbException.get(ErrorCode.PARAMETER_NOT_SET_1, "#" + (i + 1));
+            }
+
+            parameters.get(i).setValue(value, false);
+            this.temporaryLobs.track(value);
+        }
+    }
+
+    /**
+     * The statement timeout of a single execution. H2 keeps a cancellation pending on the command until its next execution, so whether the timer fired is tracked explicitly:
+     * the timer may fire after the execution returned, and such a command must not be reused.
+     */
+    private static final class StatementTimeout implements Runnable {
+
+        private static final int PENDING = 0;
+
+        private static final int FIRED = 1;
+
+        private static final int COMPLETED = 2;
+
+        private final CommandInterface command;
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private volatile Disposable task;
+
+        private StatementTimeout(CommandInterface command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            if (this.state.compareAndSet(PENDING, FIRED)) {
+                this.command.cancel();
+            }
+        }
+
+        /**
+         * Stop the timer unless it already fired.
+         *
+         * @return {@code false} if the timer fired and the command got cancelled
+         */
+        boolean complete() {
+            if (this.state.compareAndSet(PENDING, COMPLETED)) {
+                this.task.dispose();
+                return true;
+            }
+
+            return this.state.get() == COMPLETED;
+        }
+
+        void schedule(long timeout) {
+            this.task = Schedulers.parallel().schedule(this, timeout, TimeUnit.MILLISECONDS);
+        }
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2.client;
+
+import org.h2.store.LobStorageFrontend;
+import org.h2.value.Value;
+import org.h2.value.ValueLob;
+import org.h2.value.lob.LobData;
+import org.h2.value.lob.LobDataDatabase;
+import org.h2.value.lob.LobDataFile;
+import reactor.util.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tracks the temporary LOBs bound to the commands of a session, i.e. the LOBs that codecs write to H2's LOB storage (or to a temporary file for remote sessions) for
+ * {@link io.r2dbc.spi.Blob}, {@link io.r2dbc.spi.Clob} and large {@link java.nio.ByteBuffer} parameters.
+ * <p>
+ * H2 only frees such LOBs when a transaction ends and the LOB timeout has elapsed. H2 copies parameter LOBs into tables and results, so a temporary LOB is
+ * {@link #release(Value) released} as soon as the command it is bound to has been executed and its result has been closed. Releasing hands the LOB to H2's LOB storage for
+ * removal, which deletes the data once no concurrent reader can see it anymore. In-memory LOBs and LOBs that belong to a table or result are not tracked.
+ * <p>
+ * <i>This class is threadsafe</i>
+ */
+public final class TemporaryLobs {
+
+    // values compare by content, two LOBs with the same content must be tracked separately
+    private final Set<ValueLob> outstanding = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private long released;
+
+    TemporaryLobs() {
+    }
+
+    /**
+     * Returns the number of temporary LOBs that are bound to a command that is still executing or whose result is still open.
+     *
+     * @return the number of outstanding temporary LOBs
+     */
+    public synchronized int getOutstanding() {
+        return this.outstanding.size();
+    }
+
+    /**
+     * Returns the number of temporary LOBs that were released after their command completed.
+     *
+     * @return the number of released temporary LOBs
+     */
+    public synchronized long getReleased() {
+        return this.released;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "TemporaryLobs{" +
+            "outstanding=" + this.outstanding.size() +
+            ", released=" + this.released +
+            '}';
+    }
+
+    /**
+     * Start tracking {@code value} if it is a temporary LOB.
+     *
+     * @param value the value bound to a command
+     */
+    void track(Value value) {
+        if (isTemporary(value)) {
+            synchronized (this) {
+                this.outstanding.add((ValueLob) value);
+            }
+        }
+    }
+
+    /**
+     * Free {@code value} if it is a tracked temporary LOB. Values that are not tracked, e.g. because they were released already, are ignored.
+     *
+     * @param value the value that was bound to a command
+     */
+    void release(@Nullable Value value) {
+        if (!isTemporary(value)) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!this.outstanding.remove(value)) {
+                return;
+            }
+
+            this.released++;
+        }
+
+        ((ValueLob) value).remove();
+    }
+
+    /**
+     * Free all outstanding temporary LOBs.
+     */
+    void close() {
+        List<ValueLob> lobs;
+
+        synchronized (this) {
+            lobs = new ArrayList<>(this.outstanding);
+            this.outstanding.clear();
+            this.released += lobs.size();
+        }
+
+        for (ValueLob lob : lobs) {
+            lob.remove();
+        }
+    }
+
+    private static boolean isTemporary(@Nullable Value value) {
+        if (!(value instanceof ValueLob)) {
+            return false;
+        }
+
+        LobData lobData = ((ValueLob) value).getLobData();
+
+        return lobData instanceof LobDataFile || (lobData instanceof LobDataDatabase && ((LobDataDatabase) lobData).getTableId() == LobStorageFrontend.TABLE_TEMP);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2.codecs;
+
+import io.r2dbc.h2.util.Assert;
+import org.h2.engine.Session;
+import org.h2.value.Value;
+import org.h2.value.ValueNull;
+import org.reactivestreams.Publisher;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Base class for codecs that depend on the {@link Session} of the connection they are used with, e.g. to create LOBs or to convert values with time zones. The session is passed
+ * at call time so that a single instance can be shared by all connections of a connection factory. Calls without a session pass {@code null}. Decoded values that read from the
+ * session later on, such as LOBs, do so on the {@link Scheduler} of the connection. Without a scheduler of its own these blocking reads are moved onto
+ * {@link Schedulers#boundedElastic()}.
+ *
+ * @param <T> the type that is handled by this codec
+ */
+abstract class AbstractSessionCodec<T> extends AbstractCodec<T> {
+
+    AbstractSessionCodec(Class<T> type) {
+        super(type);
+    }
+
+    @Nullable
+    @Override
+    public T decode(@Nullable Value value, Class<? extends T> type, @Nullable Session session) {
+        return decode(value, type, session, Schedulers.immediate());
+    }
+
+    @Nullable
+    @Override
+    public T decode(@Nullable Value value, Class<? extends T> type, @Nullable Session session, Scheduler scheduler) {
+        if (value == null || value == ValueNull.INSTANCE) {
+            return null;
+        }
+
+        return doDecode(value, type, session, scheduler);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Value encode(Object value, @Nullable Session session) {
+        Assert.requireNonNull(value, "value must not be null");
+
+        return doEncode((T) value, session);
+    }
+
+    @Override
+    final T doDecode(Value value, Class<? extends T> type) {
+        return doDecode(value, type, null, Schedulers.immediate());
+    }
+
+    @Override
+    final Value doEncode(T value) {
+        return doEncode(value, null);
+    }
+
+    abstract T doDecode(Value value, Class<? extends T> type, @Nullable Session session);
+
+    /**
+     * Collect the content of a {@link io.r2dbc.spi.Blob} or {@link io.r2dbc.spi.Clob} that is available right away, such as the content a statement read before its execution.
+     * Content that would have to be waited for is rejected instead of blocking the thread H2 writes the LOB from.
+     *
+     * @param content the content of the LOB
+     * @param <C>     the type of the chunks of the content
+     * @return the chunks of the content
+     * @throws IllegalStateException if {@code content} does not complete on subscription
+     */
+    static <C> List<C> collectAvailable(Publisher<C> content) {
+        CompletableFuture<List<C>> chunks = Flux.from(content).collectList().toFuture();
+
+        if (!chunks.isDone()) {
+            chunks.cancel(false);
+            throw new IllegalStateException("The content of the LOB is not available without waiting for it, bind the LOB to a statement which reads it before execution");
+        }
+
+        try {
+            return chunks.join();
+        } catch (CompletionException e) {
+            throw Exceptions.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Decode {@code value} into a type that may read from the session after decoding, using {@code scheduler} for these blocking reads. Defaults to
+     * {@link #doDecode(Value, Class, Session)}.
+     */
+    T doDecode(Value value, Class<? extends T> type, @Nullable Session session, Scheduler scheduler) {
+        return doDecode(value, type, session);
+    }
+
+    abstract Value doEncode(T value, @Nullable Session session);
+
+    /**
+     * Return the {@link Scheduler} to read the content of a decoded LOB on. {@link Schedulers#immediate()}, the default of a client without a scheduler of its own, would read on
+     * the subscribing thread, so {@link Schedulers#boundedElastic()} is used instead.
+     *
+     * @param scheduler the scheduler of the connection
+     * @return the scheduler to read on
+     */
+    static Scheduler lobScheduler(Scheduler scheduler) {
+        return scheduler == Schedulers.immediate() ? Schedulers.boundedElastic() : scheduler;
+    }
+
+    static Session requireSession(@Nullable Session session) {
+        return Assert.requireNonNull(session, "session must not be null");
+    }
+}
@@ -17,16 +17,20 @@
 package io.r2dbc.h2.codecs;
 
 import io.r2dbc.h2.util.Assert;
+import org.h2.engine.Session;
 import org.h2.value.Value;
 import org.h2.value.ValueArray;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
 
 import java.util.Arrays;
 
-final class ArrayCodec extends AbstractCodec<Object[]> {
+final class ArrayCodec extends AbstractSessionCodec<Object[]> {
 
-    private final Codecs codecs;
+    private final CodecRegistry codecs;
 
-    ArrayCodec(Codecs codecs) {
+    ArrayCodec(CodecRegistry codecs) {
         super(Object[].class);
         this.codecs = codecs;
     }
@@ -37,16 +41,21 @@ final class ArrayCodec extends AbstractCodec<Object[]> {
     }
 
     @Override
-    Object[] doDecode(Value value, Class<? extends Object[]> type) {
+    Object[] doDecode(Value value, Class<? extends Object[]> type, @Nullable Session session) {
+        return doDecode(value, type, session, Schedulers.immediate());
+    }
+
+    @Override
+    Object[] doDecode(Value value, Class<? extends Object[]> type, @Nullable Session session, Scheduler scheduler) {
         ValueArray valueArray = (ValueArray) value.convertTo(Value.ARRAY);
         return Arrays.stream(valueArray.getList())
-            .map(val -> codecs.decode(val, val.getValueType(), Object.class)).toArray();
+            .map(val -> this.codecs.decode(val, val.getValueType(), Object.class, session, scheduler)).toArray();
     }
 
     @Override
-    Value doEncode(Object[] value) {
+    Value doEncode(Object[] value, @Nullable Session session) {
         return ValueArray.get(Arrays.stream(Assert.requireNonNull(value, "value must not be null"))
-            .map(codecs::encode)
+            .map(element -> this.codecs.encode(element, session))
             .toArray(Value[]::new), null);
     }
 }
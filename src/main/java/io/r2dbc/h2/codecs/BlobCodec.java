@@ -16,27 +16,26 @@
 
 package io.r2dbc.h2.codecs;
 
-import io.r2dbc.h2.client.Client;
 import io.r2dbc.h2.util.Assert;
 import io.r2dbc.spi.Blob;
+import org.h2.engine.Session;
 import org.h2.value.Value;
 import org.h2.value.ValueBlob;
 import org.h2.value.ValueNull;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
 
 import java.io.InputStream;
 import java.io.SequenceInputStream;
 import java.util.Enumeration;
 import java.util.Iterator;
 
-final class BlobCodec extends AbstractCodec<Blob> {
+final class BlobCodec extends AbstractSessionCodec<Blob> {
 
-    private final Client client;
-
-    BlobCodec(Client client) {
+    BlobCodec() {
         super(Blob.class);
-        this.client = client;
     }
 
     @Override
@@ -45,41 +44,42 @@ final class BlobCodec extends AbstractCodec<Blob> {
     }
 
     @Override
-    Blob doDecode(Value value, Class<? extends Blob> type) {
+    Blob doDecode(Value value, Class<? extends Blob> type, @Nullable Session session) {
+        return doDecode(value, type, session, Schedulers.immediate());
+    }
+
+    @Override
+    Blob doDecode(Value value, Class<? extends Blob> type, @Nullable Session session, Scheduler scheduler) {
         if (value == null || value instanceof ValueNull) {
             return null;
         }
 
-        return new ValueLobBlob(value);
+        return new ValueLobBlob(value, lobScheduler(scheduler));
     }
 
     @Override
-    Value doEncode(Blob value) {
+    Value doEncode(Blob value, @Nullable Session session) {
         Assert.requireNonNull(value, "value must not be null");
+        requireSession(session);
 
-        ValueBlob blob = this.client.getSession().getDataHandler().getLobStorage().createBlob(
+        ValueBlob blob = session.getDataHandler().getLobStorage().createBlob(
             new SequenceInputStream(
                 new BlobInputStreamEnumeration(value)), -1);
 
-        this.client.getSession().addTemporaryLob(blob);
+        session.addTemporaryLob(blob);
 
         return blob;
     }
 
     /**
-     * Converts a {@link Flux} of {@link Blob}s into an {@link Enumeration} of {@link InputStream}s.
+     * Converts the content of a {@link Blob} into an {@link Enumeration} of {@link InputStream}s. The content must be available right away, statements read it before execution.
      */
     private final class BlobInputStreamEnumeration implements Enumeration<InputStream> {
 
         private final Iterator<ByteBufferInputStream> inputStreams;
 
         BlobInputStreamEnumeration(Blob value) {
-            this.inputStreams = Flux.from(value.stream())
-                .map(ByteBufferInputStream::new)
-                .subscribeOn(Schedulers.boundedElastic())
-                .cancelOn(Schedulers.boundedElastic())
-                .toIterable()
-                .iterator();
+            this.inputStreams = collectAvailable(Flux.from(value.stream()).map(ByteBufferInputStream::new)).iterator();
         }
 
         @Override
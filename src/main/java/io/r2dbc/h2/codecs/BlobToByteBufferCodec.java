@@ -16,28 +16,27 @@
 
 package io.r2dbc.h2.codecs;
 
-import io.r2dbc.h2.client.Client;
 import io.r2dbc.h2.util.Assert;
-import io.r2dbc.spi.Blob;
+import org.h2.engine.Constants;
+import org.h2.engine.Session;
+import org.h2.message.DbException;
+import org.h2.store.DataHandler;
+import org.h2.util.IOUtils;
 import org.h2.value.Value;
 import org.h2.value.ValueBlob;
 import org.h2.value.ValueNull;
-import reactor.core.publisher.Flux;
-import reactor.core.scheduler.Schedulers;
+import org.h2.value.lob.LobDataInMemory;
+import reactor.util.annotation.Nullable;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.SequenceInputStream;
 import java.nio.ByteBuffer;
-import java.util.Enumeration;
-import java.util.Iterator;
+import java.util.Arrays;
 
-final class BlobToByteBufferCodec extends AbstractCodec<ByteBuffer> {
+final class BlobToByteBufferCodec extends AbstractSessionCodec<ByteBuffer> {
 
-    private final Client client;
-
-    BlobToByteBufferCodec(Client client) {
+    BlobToByteBufferCodec() {
         super(ByteBuffer.class);
-        this.client = client;
     }
 
     @Override
@@ -46,56 +45,65 @@ final class BlobToByteBufferCodec extends AbstractCodec<ByteBuffer> {
     }
 
     @Override
-    ByteBuffer doDecode(Value value, Class<? extends ByteBuffer> type) {
+    ByteBuffer doDecode(Value value, Class<? extends ByteBuffer> type, @Nullable Session session) {
         if (value == null || value instanceof ValueNull) {
             return null;
         }
 
-        byte[] bytes = value.getBytesNoCopy();
-        ByteBuffer buffer = ByteBuffer.allocate(bytes.length);
-        buffer.put(bytes);
-        buffer.flip();
+        if (value instanceof ValueBlob) {
+            ValueBlob blob = (ValueBlob) value;
+
+            // small BLOBs share their array with the value, which may be part of a table in an in-memory database
+            if (blob.getLobData() instanceof LobDataInMemory) {
+                return ByteBuffer.wrap(blob.getBytesNoCopy()).asReadOnlyBuffer();
+            }
+
+            if (blob.octetLength() <= Constants.MAX_STRING_LENGTH) {
+                return ByteBuffer.wrap(readFully(blob, (int) blob.octetLength()));
+            }
+        }
 
-        return buffer;
+        return ByteBuffer.wrap(value.getBytes());
     }
 
+    /**
+     * Encode buffers up to the database's {@code MAX_LENGTH_INPLACE_LOB} as small in-memory BLOBs, the size up to which H2 stores LOBs inline anyway. Only larger buffers are
+     * written to the LOB storage. The position of {@code value} is not changed.
+     */
     @Override
-    Value doEncode(ByteBuffer value) {
+    Value doEncode(ByteBuffer value, @Nullable Session session) {
         Assert.requireNonNull(value, "value must not be null");
+        requireSession(session);
+
+        ByteBuffer source = value.duplicate();
+        DataHandler dataHandler = session.getDataHandler();
 
-        ValueBlob blob = this.client.getSession().getDataHandler().getLobStorage().createBlob(
-            new SequenceInputStream(
-                new BlobInputStreamEnumeration(value)), -1);
+        if (source.remaining() <= dataHandler.getMaxLengthInplaceLob()) {
+            byte[] bytes = new byte[source.remaining()];
+            source.get(bytes);
 
-        this.client.getSession().addTemporaryLob(blob);
+            return ValueBlob.createSmall(bytes);
+        }
+
+        ValueBlob blob = dataHandler.getLobStorage().createBlob(new ByteBufferInputStream(source), source.remaining());
+
+        session.addTemporaryLob(blob);
 
         return blob;
     }
 
     /**
-     * Converts a {@link Flux} of {@link Blob}s into an {@link Enumeration} of {@link InputStream}s.
+     * Read a stored BLOB into an array of its exact length, avoiding the intermediate buffers of {@link Value#getBytes()}.
      */
-    private final class BlobInputStreamEnumeration implements Enumeration<InputStream> {
-
-        private final Iterator<ByteBufferInputStream> inputStreams;
+    private static byte[] readFully(ValueBlob blob, int length) {
+        byte[] bytes = new byte[length];
 
-        BlobInputStreamEnumeration(ByteBuffer value) {
-            this.inputStreams = Flux.just(value)
-                .map(ByteBufferInputStream::new)
-                .subscribeOn(Schedulers.boundedElastic())
-                .cancelOn(Schedulers.boundedElastic())
-                .toIterable()
-                .iterator();
-        }
-
-        @Override
-        public boolean hasMoreElements() {
-            return inputStreams.hasNext();
-        }
+        try (InputStream inputStream = blob.getInputStream()) {
+            int read = IOUtils.readFully(inputStream, bytes, length);
 
-        @Override
-        public InputStream nextElement() {
-            return inputStreams.next();
+            return read == length ? bytes : Arrays.copyOf(bytes, read);
+        } catch (IOException e) {
+            throw DbException.convertIOException(e, null);
         }
     }
 }
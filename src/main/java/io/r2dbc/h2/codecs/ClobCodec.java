@@ -16,13 +16,16 @@
 
 package io.r2dbc.h2.codecs;
 
-import io.r2dbc.h2.client.Client;
 import io.r2dbc.h2.util.Assert;
 import io.r2dbc.spi.Clob;
+import org.h2.engine.Session;
 import org.h2.value.Value;
 import org.h2.value.ValueClob;
 import org.h2.value.ValueNull;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
 
 import java.io.CharArrayReader;
 import java.io.IOException;
@@ -30,13 +33,10 @@ import java.io.Reader;
 import java.nio.CharBuffer;
 import java.util.Iterator;
 
-final class ClobCodec extends AbstractCodec<Clob> {
+final class ClobCodec extends AbstractSessionCodec<Clob> {
 
-    private final Client client;
-
-    ClobCodec(Client client) {
+    ClobCodec() {
         super(Clob.class);
-        this.client = client;
     }
 
     @Override
@@ -45,28 +45,34 @@ final class ClobCodec extends AbstractCodec<Clob> {
     }
 
     @Override
-    Clob doDecode(Value value, Class<? extends Clob> type) {
+    Clob doDecode(Value value, Class<? extends Clob> type, @Nullable Session session) {
+        return doDecode(value, type, session, Schedulers.immediate());
+    }
+
+    @Override
+    Clob doDecode(Value value, Class<? extends Clob> type, @Nullable Session session, Scheduler scheduler) {
         if (value == null || value instanceof ValueNull) {
             return null;
         }
 
-        return new ValueLobClob(value);
+        return new ValueLobClob(value, lobScheduler(scheduler));
     }
 
     @Override
-    Value doEncode(Clob value) {
+    Value doEncode(Clob value, @Nullable Session session) {
         Assert.requireNonNull(value, "value must not be null");
+        requireSession(session);
 
-        ValueClob clob = this.client.getSession().getDataHandler().getLobStorage().createClob(
+        ValueClob clob = session.getDataHandler().getLobStorage().createClob(
             new AggregateCharArrayReader(value), -1);
 
-        this.client.getSession().addTemporaryLob(clob);
+        session.addTemporaryLob(clob);
 
         return clob;
     }
 
     /**
-     * Converts a {@link Flux} of {@link Clob}s into a {@link Reader} of {@link CharArrayReader}s.
+     * Converts the content of a {@link Clob} into a {@link Reader} of {@link CharArrayReader}s. The content must be available right away, statements read it before execution.
      */
     private final class AggregateCharArrayReader extends Reader {
 
@@ -75,7 +81,7 @@ final class ClobCodec extends AbstractCodec<Clob> {
         private CharArrayReader current;
 
         private AggregateCharArrayReader(Clob value) {
-            this.readers = Flux.from(value.stream())
+            this.readers = collectAvailable(Flux.from(value.stream())
                 .map(CharBuffer::wrap)
                 .map(charBuffer -> {
                     if (charBuffer.hasArray()) {
@@ -84,8 +90,7 @@ final class ClobCodec extends AbstractCodec<Clob> {
                         return charBuffer.toString().toCharArray();
                     }
                 })
-                .map(CharArrayReader::new)
-                .toIterable()
+                .map(CharArrayReader::new))
                 .iterator();
 
             if (this.readers.hasNext()) {
@@ -96,6 +101,10 @@ final class ClobCodec extends AbstractCodec<Clob> {
 
         @Override
         public int read(char[] cbuf, int off, int len) throws IOException {
+            if (this.current == null) {
+                return -1;
+            }
+
             int results = this.current.read(cbuf, off, len);
 
             if (results == -1) {
@@ -110,7 +119,9 @@ final class ClobCodec extends AbstractCodec<Clob> {
 
         @Override
         public void close() {
-            this.current.close();
+            if (this.current != null) {
+                this.current.close();
+            }
         }
     }
 }
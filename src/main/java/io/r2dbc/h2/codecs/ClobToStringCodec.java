@@ -16,21 +16,19 @@
 
 package io.r2dbc.h2.codecs;
 
-import io.r2dbc.h2.client.Client;
 import io.r2dbc.h2.util.Assert;
+import org.h2.engine.Session;
 import org.h2.value.Value;
 import org.h2.value.ValueClob;
 import org.h2.value.ValueNull;
+import reactor.util.annotation.Nullable;
 
 import java.io.StringReader;
 
-final class ClobToStringCodec extends AbstractCodec<String> {
+final class ClobToStringCodec extends AbstractSessionCodec<String> {
 
-    private final Client client;
-
-    ClobToStringCodec(Client client) {
+    ClobToStringCodec() {
         super(String.class);
-        this.client = client;
     }
 
     @Override
@@ -39,7 +37,7 @@ final class ClobToStringCodec extends AbstractCodec<String> {
     }
 
     @Override
-    String doDecode(Value value, Class<? extends String> type) {
+    String doDecode(Value value, Class<? extends String> type, @Nullable Session session) {
         if (value == null || value instanceof ValueNull) {
             return null;
         }
@@ -48,13 +46,14 @@ final class ClobToStringCodec extends AbstractCodec<String> {
     }
 
     @Override
-    Value doEncode(String value) {
+    Value doEncode(String value, @Nullable Session session) {
         Assert.requireNonNull(value, "value must not be null");
+        requireSession(session);
 
-        ValueClob clob = this.client.getSession().getDataHandler().getLobStorage()
+        ValueClob clob = session.getDataHandler().getLobStorage()
             .createClob(new StringReader(value), value.length());
 
-        this.client.getSession().addTemporaryLob(clob);
+        session.addTemporaryLob(clob);
 
         return clob;
     }
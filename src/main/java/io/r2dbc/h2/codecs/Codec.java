@@ -16,7 +16,9 @@
 
 package io.r2dbc.h2.codecs;
 
+import org.h2.engine.Session;
 import org.h2.value.Value;
+import reactor.core.scheduler.Scheduler;
 import reactor.util.annotation.Nullable;
 
 interface Codec<T> {
@@ -30,8 +32,22 @@ interface Codec<T> {
     @Nullable
     T decode(@Nullable Value value, Class<? extends T> type);
 
+    @Nullable
+    default T decode(@Nullable Value value, Class<? extends T> type, @Nullable Session session) {
+        return decode(value, type);
+    }
+
+    @Nullable
+    default T decode(@Nullable Value value, Class<? extends T> type, @Nullable Session session, Scheduler scheduler) {
+        return decode(value, type, session);
+    }
+
     Value encode(Object value);
 
+    default Value encode(Object value, @Nullable Session session) {
+        return encode(value);
+    }
+
     Value encodeNull();
 
     Class<?> type();
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2.codecs;
+
+import io.r2dbc.h2.util.Assert;
+import org.h2.engine.Session;
+import org.h2.value.Value;
+import org.h2.value.ValueNull;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.annotation.Nullable;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The immutable set of default {@link Codec}s, shared by all connections of a connection factory. Codecs that depend on the connection, such as LOB and time zone codecs, are
+ * given the {@link Session} at call time.
+ * <p>
+ * The codec for a combination of H2 value type and target type, respectively for a parameter type, is looked up once by scanning the codecs in order of priority and cached
+ * afterwards.
+ * <p>
+ * <i>This class is threadsafe</i>
+ *
+ * @see DefaultCodecs
+ */
+public final class CodecRegistry {
+
+    private final List<Codec<?>> codecs;
+
+    private final ConcurrentMap<DecoderKey, Codec<?>> decoders = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, Codec<?>> encoders = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, Codec<?>> nullEncoders = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new registry of the default {@link Codec}s.
+     *
+     * @param classLoader the class loader used to search for optional {@link Codec}s
+     * @throws IllegalArgumentException if {@code classLoader} is {@code null}
+     */
+    public CodecRegistry(ClassLoader classLoader) {
+        this.codecs = createCodecs(Assert.requireNonNull(classLoader, "classLoader must not be null"), this);
+    }
+
+    @Override
+    public String toString() {
+        return "CodecRegistry{" +
+            "codecs=" + this.codecs.size() +
+            ", decoders=" + this.decoders.size() +
+            ", encoders=" + this.encoders.size() +
+            '}';
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    <T> T decode(@Nullable Value value, int dataType, Class<? extends T> type, @Nullable Session session, Scheduler scheduler) {
+        Assert.requireNonNull(type, "type must not be null");
+
+        if (value == null || value instanceof ValueNull) {
+            return null;
+        }
+
+        Codec<?> codec = findDecoder(dataType, type);
+
+        if (codec == null) {
+            throw new IllegalArgumentException(String.format("Cannot decode value of type %s", type.getName()));
+        }
+
+        return ((Codec<T>) codec).decode(value, type, session, scheduler);
+    }
+
+    Value encode(Object value, @Nullable Session session) {
+        Assert.requireNonNull(value, "value must not be null");
+
+        Codec<?> codec = this.encoders.get(value.getClass());
+
+        if (codec == null) {
+            for (Codec<?> candidate : this.codecs) {
+                if (candidate.canEncode(value)) {
+                    codec = candidate;
+                    this.encoders.putIfAbsent(value.getClass(), candidate);
+                    break;
+                }
+            }
+        }
+
+        if (codec == null) {
+            throw new IllegalArgumentException(String.format("Cannot encode parameter of type %s", value.getClass().getName()));
+        }
+
+        return codec.encode(value, session);
+    }
+
+    Value encodeNull(Class<?> type) {
+        Assert.requireNonNull(type, "type must not be null");
+
+        Codec<?> codec = this.nullEncoders.get(type);
+
+        if (codec == null) {
+            for (Codec<?> candidate : this.codecs) {
+                if (candidate.canEncodeNull(type)) {
+                    codec = candidate;
+                    this.nullEncoders.putIfAbsent(type, candidate);
+                    break;
+                }
+            }
+        }
+
+        if (codec == null) {
+            throw new IllegalArgumentException(String.format("Cannot encode null parameter of type %s", type.getName()));
+        }
+
+        return codec.encodeNull();
+    }
+
+    @Nullable
+    Class<?> preferredType(int dataType) {
+
+        if (dataType == Value.NULL) {
+            return Void.class;
+        }
+
+        Codec<?> codec = findDecoder(dataType, Object.class);
+
+        return codec == null ? null : codec.type();
+    }
+
+    @Nullable
+    Codec<?> findDecoder(int dataType, Class<?> type) {
+        DecoderKey key = new DecoderKey(dataType, type);
+        Codec<?> codec = this.decoders.get(key);
+
+        if (codec != null) {
+            return codec;
+        }
+
+        for (Codec<?> candidate : this.codecs) {
+            if (candidate.canDecode(dataType, type)) {
+                this.decoders.putIfAbsent(key, candidate);
+                return candidate;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates Default {@link Codec}s list
+     *
+     * @param classLoader to scan for classes
+     * @param codecs      for codecs that rely on other codecs
+     * @return a {@link List} of default {@link Codec}s
+     */
+    static List<Codec<?>> createCodecs(ClassLoader classLoader, CodecRegistry codecs) {
+        return Stream.concat(
+            Stream.concat(
+                Stream.of(
+                    new BigDecimalCodec(),
+                    new BlobToByteBufferCodec(),
+                    new BlobCodec(),
+                    new BooleanCodec(),
+                    new ByteCodec(),
+                    new BytesCodec(),
+                    new ClobToStringCodec(),
+                    new ClobCodec(),
+                    new DoubleCodec(),
+                    new FloatCodec(),
+                    new IntegerCodec(),
+                    new JsonCodec(),
+                    new LocalDateCodec(),
+                    new LocalDateTimeCodec(),
+                    new LocalTimeCodec(),
+                    new LongCodec(),
+                    new OffsetDateTimeCodec(),
+                    new OffsetTimeCodec(),
+                    new ShortCodec(),
+                    new StringCodec(),
+                    new UuidCodec(),
+                    new ZonedDateTimeCodec(),
+                    new InstantCodec(),
+                    new IntervalCodec(),
+                    new PeriodCodec(),
+                    new DurationCodec()
+                ),
+                addOptionalCodecs(classLoader)),
+            Stream.of(
+                // De-prioritized codecs, must be added after optional codecs to avoid stack overflow
+                new ArrayCodec(codecs),
+                new ParameterCodec(codecs)
+            )
+        ).collect(Collectors.toList());
+    }
+
+    /**
+     * Adds optional {@link Codec}s based on different conditions, e.g. classpath availability.
+     *
+     * @param classLoader to scan for classes
+     * @return a {@link Stream} of additional {@link Codec}s
+     */
+    static Stream<Codec<?>> addOptionalCodecs(ClassLoader classLoader) {
+        Stream.Builder<Codec<?>> optionalCodecs = Stream.builder();
+
+        if (isPresent(classLoader, "org.locationtech.jts.geom.Geometry")) {
+            optionalCodecs.accept(new GeometryCodec());
+        }
+
+        return optionalCodecs.build();
+    }
+
+    /**
+     * Checks if the class is found in the current class loader.
+     *
+     * @param classLoader             the desired ClassLoader to use
+     * @param fullyQualifiedClassName the fully qualified name of the desired class
+     * @return true, if the class is found
+     */
+    static boolean isPresent(ClassLoader classLoader, String fullyQualifiedClassName) {
+        try {
+            classLoader.loadClass(fullyQualifiedClassName);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static final class DecoderKey {
+
+        private final int dataType;
+
+        private final Class<?> type;
+
+        private DecoderKey(int dataType, Class<?> type) {
+            this.dataType = dataType;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DecoderKey)) {
+                return false;
+            }
+            DecoderKey that = (DecoderKey) o;
+            return this.dataType == that.dataType &&
+                this.type == that.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.dataType + this.type.hashCode();
+        }
+    }
+}
@@ -37,6 +37,20 @@ public interface Codecs {
     @Nullable
     <T> T decode(@Nullable Value value, int dataType, Class<? extends T> type);
 
+    /**
+     * Returns a {@link Decoder} that decodes values of {@code dataType} to {@code type}. Implementations may resolve the codec once so that decoding many values of the same
+     * column does not repeat the codec lookup.
+     *
+     * @param dataType the data type of the data
+     * @param type     the type to decode to
+     * @param <T>      the type of item being returned
+     * @return the decoder
+     * @throws IllegalArgumentException if {@code type} is {@code null}
+     */
+    default <T> Decoder<T> decoder(int dataType, Class<? extends T> type) {
+        return value -> decode(value, dataType, type);
+    }
+
     /**
      * Encode a value.
      *
@@ -64,4 +78,22 @@ public interface Codecs {
     @Nullable
     Class<?> preferredType(int dataType);
 
+    /**
+     * Decodes values of a fixed data type to a fixed Java type.
+     *
+     * @param <T> the type of item being returned
+     */
+    @FunctionalInterface
+    interface Decoder<T> {
+
+        /**
+         * Decode a value.
+         *
+         * @param value the {@link Value} to decode
+         * @return the decoded value
+         */
+        @Nullable
+        T decode(@Nullable Value value);
+    }
+
 }
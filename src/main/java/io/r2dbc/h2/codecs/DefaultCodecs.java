@@ -22,16 +22,15 @@ import org.h2.value.Value;
 import org.h2.value.ValueNull;
 import reactor.util.annotation.Nullable;
 
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
 /**
- * The default {@link Codecs} implementation. Delegates to type-specific codec implementations.
+ * The default {@link Codecs} implementation. Delegates to the type-specific codec implementations of a {@link CodecRegistry}, passing the session and the scheduler of its
+ * {@link Client} to codecs that depend on them.
  */
 public final class DefaultCodecs implements Codecs {
 
-    private final List<Codec<?>> codecs;
+    private final Client client;
+
+    private final CodecRegistry registry;
 
     /**
      * Constructs a new DefaultCodecs (The Default {@link Codec}s list).
@@ -39,147 +38,59 @@ public final class DefaultCodecs implements Codecs {
      * @param client for Lobs {@link Codec}s and whose class loader is used to search for optional {@link Codec}s.
      */
     public DefaultCodecs(Client client) {
-        this.codecs = createCodecs(client, client.getClass().getClassLoader(), this);
+        this(client, new CodecRegistry(client.getClass().getClassLoader()));
+    }
+
+    /**
+     * Constructs a new DefaultCodecs using the {@link Codec}s of a shared {@link CodecRegistry}.
+     *
+     * @param client   for Lobs {@link Codec}s
+     * @param registry the codecs to use
+     * @throws IllegalArgumentException if {@code client} or {@code registry} is {@code null}
+     */
+    public DefaultCodecs(Client client, CodecRegistry registry) {
+        this.client = Assert.requireNonNull(client, "client must not be null");
+        this.registry = Assert.requireNonNull(registry, "registry must not be null");
     }
 
     @Override
     @Nullable
-    @SuppressWarnings("unchecked")
     public <T> T decode(Value value, int dataType, Class<? extends T> type) {
+        return this.registry.decode(value, dataType, type, this.client.getSession(), this.client.getScheduler());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Decoder<T> decoder(int dataType, Class<? extends T> type) {
         Assert.requireNonNull(type, "type must not be null");
 
-        if (value == null || value instanceof ValueNull) {
-            return null;
-        }
+        Codec<T> codec = (Codec<T>) this.registry.findDecoder(dataType, type);
+
+        return value -> {
+            if (value == null || value instanceof ValueNull) {
+                return null;
+            }
 
-        for (Codec<?> codec : this.codecs) {
-            if (codec.canDecode(dataType, type)) {
-                return ((Codec<T>) codec).decode(value, type);
+            if (codec == null) {
+                throw new IllegalArgumentException(String.format("Cannot decode value of type %s", type.getName()));
             }
-        }
 
-        throw new IllegalArgumentException(String.format("Cannot decode value of type %s", type.getName()));
+            return codec.decode(value, type, this.client.getSession(), this.client.getScheduler());
+        };
     }
 
     @Override
     public Value encode(Object value) {
-        Assert.requireNonNull(value, "value must not be null");
-
-        for (Codec<?> codec : this.codecs) {
-            if (codec.canEncode(value)) {
-                return codec.encode(value);
-            }
-        }
-
-        throw new IllegalArgumentException(String.format("Cannot encode parameter of type %s", value.getClass().getName()));
+        return this.registry.encode(value, this.client.getSession());
     }
 
     @Override
     public Value encodeNull(Class<?> type) {
-        Assert.requireNonNull(type, "type must not be null");
-
-        for (Codec<?> codec : this.codecs) {
-            if (codec.canEncodeNull(type)) {
-                return codec.encodeNull();
-            }
-        }
-
-        throw new IllegalArgumentException(String.format("Cannot encode null parameter of type %s", type.getName()));
+        return this.registry.encodeNull(type);
     }
 
     @Override
     public Class<?> preferredType(int dataType) {
-
-        if (dataType == Value.NULL) {
-            return Void.class;
-        }
-
-        for (Codec<?> codec : this.codecs) {
-            if (codec.canDecode(dataType, Object.class)) {
-                return codec.type();
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * Creates Default {@link Codec}s list
-     *
-     * @param client      for Lobs {@link Codec}s
-     * @param classLoader to scan for classes
-     * @param codecs      for codecs that rely on other codecs
-     * @return a {@link List} of default {@link Codec}s
-     */
-    static List<Codec<?>> createCodecs(Client client, ClassLoader classLoader, Codecs codecs) {
-        return Stream.concat(
-            Stream.concat(
-                Stream.of(
-                    new BigDecimalCodec(),
-                    new BlobToByteBufferCodec(client),
-                    new BlobCodec(client),
-                    new BooleanCodec(),
-                    new ByteCodec(),
-                    new BytesCodec(),
-                    new ClobToStringCodec(client),
-                    new ClobCodec(client),
-                    new DoubleCodec(),
-                    new FloatCodec(),
-                    new IntegerCodec(),
-                    new JsonCodec(),
-                    new LocalDateCodec(),
-                    new LocalDateTimeCodec(client),
-                    new LocalTimeCodec(),
-                    new LongCodec(),
-                    new OffsetDateTimeCodec(client),
-                    new OffsetTimeCodec(client),
-                    new ShortCodec(),
-                    new StringCodec(),
-                    new UuidCodec(),
-                    new ZonedDateTimeCodec(client),
-                    new InstantCodec(client),
-                    new IntervalCodec(),
-                    new PeriodCodec(),
-                    new DurationCodec()
-                ),
-                addOptionalCodecs(classLoader)),
-            Stream.of(
-                // De-prioritized codecs, must be added after optional codecs to avoid stack overflow
-                new ArrayCodec(codecs),
-                new ParameterCodec(codecs)
-            )
-        ).collect(Collectors.toList());
-    }
-
-    /**
-     * Adds optional {@link Codec}s based on different conditions, e.g. classpath availability.
-     *
-     * @param classLoader to scan for classes
-     * @return a {@link Stream} of additional {@link Codec}s
-     */
-    static Stream<Codec<?>> addOptionalCodecs(ClassLoader classLoader) {
-        Stream.Builder<Codec<?>> optionalCodecs = Stream.builder();
-
-        if (isPresent(classLoader, "org.locationtech.jts.geom.Geometry")) {
-            optionalCodecs.accept(new GeometryCodec());
-        }
-
-        return optionalCodecs.build();
-    }
-
-    /**
-     * Checks if the class is found in the current class loader.
-     *
-     * @param classLoader             the desired ClassLoader to use
-     * @param fullyQualifiedClassName the fully qualified name of the desired class
-     * @return true, if the class is found
-     */
-    static boolean isPresent(ClassLoader classLoader, String fullyQualifiedClassName) {
-        try {
-            classLoader.loadClass(fullyQualifiedClassName);
-            return true;
-        } catch (ClassNotFoundException e) {
-            return false;
-        }
+        return this.registry.preferredType(dataType);
     }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2.codecs;
+
+import io.r2dbc.spi.Blob;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link Blob} read from an H2 database. {@link #stream()} emits chunks of {@link #DEFAULT_CHUNK_SIZE} bytes, {@link #stream(int)} allows tuning the chunk size and
+ * {@link #stream(int, boolean)} reusing the arrays of chunks that downstream {@link #release(ByteBuffer) released}.
+ */
+public interface H2Blob extends Blob {
+
+    /**
+     * The default number of bytes per emitted chunk.
+     */
+    int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * Stream the content in chunks of up to {@code chunkSize} bytes. Every chunk is backed by its own array.
+     *
+     * @param chunkSize the maximum number of bytes per chunk
+     * @return the content
+     * @throws IllegalArgumentException if {@code chunkSize} is less than one
+     */
+    Flux<ByteBuffer> stream(int chunkSize);
+
+    /**
+     * Stream the content in chunks of up to {@code chunkSize} bytes. With {@code recycle} enabled, chunks are backed by the arrays of chunks that were handed back through
+     * {@link #release(ByteBuffer)} before, and by new arrays otherwise. Chunks that are never released are never reused, so prefetching or retaining them is safe.
+     *
+     * @param chunkSize the maximum number of bytes per chunk
+     * @param recycle   whether to reuse the arrays of released chunks
+     * @return the content
+     * @throws IllegalArgumentException if {@code chunkSize} is less than one
+     */
+    Flux<ByteBuffer> stream(int chunkSize, boolean recycle);
+
+    /**
+     * Hand a chunk emitted by a recycling {@link #stream(int, boolean) stream} back once it has been consumed, so that its array backs a later chunk. The chunk must not be used
+     * after releasing it.
+     *
+     * @param chunk the consumed chunk
+     * @throws IllegalArgumentException if {@code chunk} is {@code null}
+     */
+    void release(ByteBuffer chunk);
+}
@@ -21,13 +21,28 @@ import java.time.Instant;
 import io.r2dbc.h2.client.Client;
 import io.r2dbc.h2.util.Assert;
 import org.h2.engine.CastDataProvider;
+import org.h2.engine.Session;
 import org.h2.util.JSR310Utils;
 import org.h2.value.Value;
+import reactor.util.annotation.Nullable;
 
-public class InstantCodec extends AbstractCodec<Instant> {
+public class InstantCodec extends AbstractSessionCodec<Instant> {
 
+    @Nullable
     private final Client client;
 
+    public InstantCodec() {
+        super(Instant.class);
+        this.client = null;
+    }
+
+    /**
+     * Creates a new instance bound to the session of {@code client}, which is used when a value is decoded without a session.
+     *
+     * @param client the client whose session to fall back to
+     * @deprecated use {@link #InstantCodec()}, the session is passed when decoding
+     */
+    @Deprecated
     public InstantCodec(Client client) {
         super(Instant.class);
         this.client = client;
@@ -39,13 +54,17 @@ public class InstantCodec extends AbstractCodec<Instant> {
     }
 
     @Override
-    Instant doDecode(Value value, Class<? extends Instant> type) {
-        Assert.requireType(this.client.getSession(), CastDataProvider.class, "The session must implement CastDataProvider.");
-        return (Instant) JSR310Utils.valueToInstant(value, (CastDataProvider) this.client.getSession());
+    Instant doDecode(Value value, Class<? extends Instant> type, @Nullable Session session) {
+        if (session == null && this.client != null) {
+            session = this.client.getSession();
+        }
+
+        Assert.requireType(session, CastDataProvider.class, "The session must implement CastDataProvider.");
+        return (Instant) JSR310Utils.valueToInstant(value, (CastDataProvider) session);
     }
 
     @Override
-    Value doEncode(Instant value) {
+    Value doEncode(Instant value, @Nullable Session session) {
         return JSR310Utils.instantToValue(Assert.requireNonNull(value, "value must not be null"));
     }
 }
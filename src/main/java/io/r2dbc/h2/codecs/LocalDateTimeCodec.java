@@ -1,20 +1,18 @@
 package io.r2dbc.h2.codecs;
 
-import io.r2dbc.h2.client.Client;
 import io.r2dbc.h2.util.Assert;
 import org.h2.engine.CastDataProvider;
+import org.h2.engine.Session;
 import org.h2.util.JSR310Utils;
 import org.h2.value.Value;
+import reactor.util.annotation.Nullable;
 
 import java.time.LocalDateTime;
 
-final class LocalDateTimeCodec extends AbstractCodec<LocalDateTime> {
+final class LocalDateTimeCodec extends AbstractSessionCodec<LocalDateTime> {
 
-    private final Client client;
-
-    LocalDateTimeCodec(Client client) {
+    LocalDateTimeCodec() {
         super(LocalDateTime.class);
-        this.client = client;
     }
 
     @Override
@@ -23,13 +21,13 @@ final class LocalDateTimeCodec extends AbstractCodec<LocalDateTime> {
     }
 
     @Override
-    LocalDateTime doDecode(Value value, Class<? extends LocalDateTime> type) {
-        Assert.requireType(this.client.getSession(), CastDataProvider.class, "The session must implement CastDataProvider.");
-        return (LocalDateTime) JSR310Utils.valueToLocalDateTime(value, (CastDataProvider) this.client.getSession());
+    LocalDateTime doDecode(Value value, Class<? extends LocalDateTime> type, @Nullable Session session) {
+        Assert.requireType(session, CastDataProvider.class, "The session must implement CastDataProvider.");
+        return (LocalDateTime) JSR310Utils.valueToLocalDateTime(value, (CastDataProvider) session);
     }
 
     @Override
-    Value doEncode(LocalDateTime value) {
+    Value doEncode(LocalDateTime value, @Nullable Session session) {
         return JSR310Utils.localDateTimeToValue(Assert.requireNonNull(value, "value must not be null"));
     }
 }
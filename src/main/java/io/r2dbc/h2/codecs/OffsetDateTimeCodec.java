@@ -1,20 +1,18 @@
 package io.r2dbc.h2.codecs;
 
-import io.r2dbc.h2.client.Client;
 import io.r2dbc.h2.util.Assert;
 import org.h2.engine.CastDataProvider;
+import org.h2.engine.Session;
 import org.h2.util.JSR310Utils;
 import org.h2.value.Value;
+import reactor.util.annotation.Nullable;
 
 import java.time.OffsetDateTime;
 
-final class OffsetDateTimeCodec extends AbstractCodec<OffsetDateTime> {
+final class OffsetDateTimeCodec extends AbstractSessionCodec<OffsetDateTime> {
 
-    private final Client client;
-
-    OffsetDateTimeCodec(Client client) {
+    OffsetDateTimeCodec() {
         super(OffsetDateTime.class);
-        this.client = client;
     }
 
     @Override
@@ -23,13 +21,13 @@ final class OffsetDateTimeCodec extends AbstractCodec<OffsetDateTime> {
     }
 
     @Override
-    OffsetDateTime doDecode(Value value, Class<? extends OffsetDateTime> type) {
-        Assert.requireType(this.client.getSession(), CastDataProvider.class, "The session must implement CastDataProvider.");
-        return (OffsetDateTime) JSR310Utils.valueToOffsetDateTime(value, (CastDataProvider) this.client.getSession());
+    OffsetDateTime doDecode(Value value, Class<? extends OffsetDateTime> type, @Nullable Session session) {
+        Assert.requireType(session, CastDataProvider.class, "The session must implement CastDataProvider.");
+        return (OffsetDateTime) JSR310Utils.valueToOffsetDateTime(value, (CastDataProvider) session);
     }
 
     @Override
-    Value doEncode(OffsetDateTime value) {
+    Value doEncode(OffsetDateTime value, @Nullable Session session) {
         return JSR310Utils.offsetDateTimeToValue(Assert.requireNonNull(value, "value must not be null"));
     }
 }
@@ -1,20 +1,18 @@
 package io.r2dbc.h2.codecs;
 
-import io.r2dbc.h2.client.Client;
 import io.r2dbc.h2.util.Assert;
 import org.h2.engine.CastDataProvider;
+import org.h2.engine.Session;
 import org.h2.util.JSR310Utils;
 import org.h2.value.Value;
+import reactor.util.annotation.Nullable;
 
 import java.time.OffsetTime;
 
-final class OffsetTimeCodec extends AbstractCodec<OffsetTime> {
+final class OffsetTimeCodec extends AbstractSessionCodec<OffsetTime> {
 
-    private final Client client;
-
-    OffsetTimeCodec(Client client) {
+    OffsetTimeCodec() {
         super(OffsetTime.class);
-        this.client = client;
     }
 
     @Override
@@ -23,13 +21,13 @@ final class OffsetTimeCodec extends AbstractCodec<OffsetTime> {
     }
 
     @Override
-    OffsetTime doDecode(Value value, Class<? extends OffsetTime> type) {
-        Assert.requireType(this.client.getSession(), CastDataProvider.class, "The session must implement CastDataProvider.");
-        return (OffsetTime) JSR310Utils.valueToOffsetTime(value, (CastDataProvider) this.client.getSession());
+    OffsetTime doDecode(Value value, Class<? extends OffsetTime> type, @Nullable Session session) {
+        Assert.requireType(session, CastDataProvider.class, "The session must implement CastDataProvider.");
+        return (OffsetTime) JSR310Utils.valueToOffsetTime(value, (CastDataProvider) session);
     }
 
     @Override
-    Value doEncode(OffsetTime value) {
+    Value doEncode(OffsetTime value, @Nullable Session session) {
         return JSR310Utils.offsetTimeToValue(Assert.requireNonNull(value, "value must not be null"));
     }
 }
@@ -1,13 +1,17 @@
 package io.r2dbc.h2.codecs;
 
 import io.r2dbc.spi.Parameter;
+import org.h2.engine.Session;
 import org.h2.value.Value;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
 
-final class ParameterCodec extends AbstractCodec<Parameter> {
+final class ParameterCodec extends AbstractSessionCodec<Parameter> {
 
-    private final Codecs codecs;
+    private final CodecRegistry codecs;
 
-    ParameterCodec(Codecs codecs) {
+    ParameterCodec(CodecRegistry codecs) {
         super(Parameter.class);
         this.codecs = codecs;
     }
@@ -18,16 +22,21 @@ final class ParameterCodec extends AbstractCodec<Parameter> {
     }
 
     @Override
-    Parameter doDecode(Value value, Class<? extends Parameter> type) {
-        return this.codecs.decode(value, value.getValueType(), type);
+    Parameter doDecode(Value value, Class<? extends Parameter> type, @Nullable Session session) {
+        return doDecode(value, type, session, Schedulers.immediate());
     }
 
     @Override
-    Value doEncode(Parameter value) {
+    Parameter doDecode(Value value, Class<? extends Parameter> type, @Nullable Session session, Scheduler scheduler) {
+        return this.codecs.decode(value, value.getValueType(), type, session, scheduler);
+    }
+
+    @Override
+    Value doEncode(Parameter value, @Nullable Session session) {
         if ( value == null || value.getValue() == null) {
             return this.encodeNull();
         }
 
-        return this.codecs.encode(value.getValue());
+        return this.codecs.encode(value.getValue(), session);
     }
 }
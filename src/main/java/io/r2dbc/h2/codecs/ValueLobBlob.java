@@ -16,87 +16,159 @@
 
 package io.r2dbc.h2.codecs;
 
-import io.r2dbc.spi.Blob;
+import io.r2dbc.h2.util.Assert;
+import org.h2.util.IOUtils;
 import org.h2.value.Value;
+import org.h2.value.ValueLob;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.SynchronousSink;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.annotation.Nullable;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
-import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
- * Implement {@link Blob}.
+ * Implement {@link H2Blob}. The content is read on the {@link Scheduler} of the connection the value was decoded from.
  */
-class ValueLobBlob implements Blob {
+class ValueLobBlob implements H2Blob {
 
     private final Value lobDb;
 
-    private SynchronousSink<ByteBuffer> valueLobHandlerSink;
+    private final Scheduler scheduler;
 
-    ValueLobBlob(Value value) {
+    private final Queue<byte[]> released = new ConcurrentLinkedQueue<>();
+
+    ValueLobBlob(Value value, Scheduler scheduler) {
         this.lobDb = value;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Flux<ByteBuffer> stream() {
+        return stream(DEFAULT_CHUNK_SIZE);
+    }
+
+    @Override
+    public Flux<ByteBuffer> stream(int chunkSize) {
+        return stream(chunkSize, false);
     }
 
     /**
-     * Open the {@link org.h2.value.ValueBlob}/{@link V}'s {@link InputStream} and pipe the bytes into a {@link Flux}.
+     * Open the {@link org.h2.value.ValueBlob}'s {@link InputStream} and pipe the bytes into a {@link Flux}.
      */
     @Override
-    public Flux<ByteBuffer> stream() {
-        return Flux.<ByteBuffer, InputStream>generate(
-                this.lobDb::getInputStream,
+    public Flux<ByteBuffer> stream(int chunkSize, boolean recycle) {
+        Assert.requireTrue(chunkSize > 0, "chunkSize must be greater than zero");
+
+        return Flux.<ByteBuffer, ChunkReader>generate(
+                () -> new ChunkReader(this.lobDb, chunkSize, recycle ? this.released : null),
                 (source, sink) -> {
-                    this.valueLobHandlerSink = sink;
                     try {
-                        byte[] data = new byte[1024];
-                        int readBytes = source.read(data);
+                        ByteBuffer chunk = source.read();
 
                         // End of the source's data.
-                        if (readBytes == -1) {
+                        if (chunk == null) {
                             sink.complete();
-                            return source;
+                        } else {
+                            sink.next(chunk);
                         }
-
-                        // Wrap the data buffer into a ByteBuffer of proper length.
-                        sink.next(wrap(data, readBytes));
                     } catch (IOException e) {
                         sink.error(e);
                     }
 
                     return source;
                 },
-                source -> {
-                    // When the Flux is terminated or cancelled
-                    try {
-                        source.close();
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                })
-            .subscribeOn(Schedulers.boundedElastic())
-            .cancelOn(Schedulers.boundedElastic());
+                // When the Flux is terminated or cancelled
+                ChunkReader::close)
+            .subscribeOn(this.scheduler)
+            .cancelOn(this.scheduler);
+    }
+
+    @Override
+    public void release(ByteBuffer chunk) {
+        Assert.requireNonNull(chunk, "chunk must not be null");
+
+        if (chunk.hasArray() && !chunk.isReadOnly()) {
+            this.released.offer(chunk.array());
+        }
     }
 
+    /**
+     * Nothing to release: the value belongs to its result and every {@link #stream()} closes its input stream when it terminates or gets cancelled.
+     */
     @Override
     public Publisher<Void> discard() {
-        return Mono.fromRunnable(() -> this.valueLobHandlerSink.complete()).then();
+        return Mono.empty();
     }
 
     /**
-     * Transform a raw {@link byte[]} into a {@link ByteBuffer}.
-     *
-     * @param data
-     * @param readBytes
+     * Reads the chunks of one {@link #stream(int, boolean) stream}. Chunks are filled completely, only the last one may be shorter, and are never larger than the remaining
+     * content so that small BLOBs do not allocate a full chunk. A recycling reader takes the arrays of released chunks before allocating new ones.
      */
-    ByteBuffer wrap(byte[] data, int readBytes) {
-        if (readBytes < data.length) {
-            return ByteBuffer.wrap(Arrays.copyOfRange(data, 0, readBytes));
+    private static final class ChunkReader {
+
+        private final InputStream source;
+
+        private final int chunkSize;
+
+        @Nullable
+        private final Queue<byte[]> released;
+
+        private long remaining;
+
+        ChunkReader(Value value, int chunkSize, @Nullable Queue<byte[]> released) {
+            this.source = value.getInputStream();
+            this.chunkSize = chunkSize;
+            this.released = released;
+            this.remaining = value instanceof ValueLob ? ((ValueLob) value).octetLength() : -1;
         }
 
-        return ByteBuffer.wrap(data, 0, readBytes);
+        ByteBuffer read() throws IOException {
+            if (this.remaining == 0) {
+                return null;
+            }
+
+            int length = this.remaining < 0 ? this.chunkSize : (int) Math.min(this.chunkSize, this.remaining);
+            byte[] data = allocate(length);
+            int read = IOUtils.readFully(this.source, data, length);
+
+            if (read == 0) {
+                return null;
+            }
+
+            if (this.remaining > 0) {
+                this.remaining -= read;
+            }
+
+            return ByteBuffer.wrap(data, 0, read);
+        }
+
+        private byte[] allocate(int length) {
+            if (this.released != null) {
+                byte[] array;
+
+                while ((array = this.released.poll()) != null) {
+                    if (array.length >= length) {
+                        return array;
+                    }
+                }
+            }
+
+            return new byte[length];
+        }
+
+        void close() {
+            try {
+                this.source.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
     }
 }
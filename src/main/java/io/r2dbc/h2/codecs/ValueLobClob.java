@@ -24,11 +24,10 @@ import io.r2dbc.spi.Clob;
 import org.h2.value.Value;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.SynchronousSink;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
 /**
- * Implement {@link Clob}.
+ * Implement {@link Clob}. The content is read on the {@link Scheduler} of the connection the value was decoded from.
  */
 class ValueLobClob implements Clob {
 
@@ -36,10 +35,11 @@ class ValueLobClob implements Clob {
 
 	private final Value lobDb;
 
-	private SynchronousSink<CharSequence> valueLobHandlerSink;
+	private final Scheduler scheduler;
 
-	ValueLobClob(Value value) {
+	ValueLobClob(Value value, Scheduler scheduler) {
 		this.lobDb = value;
+		this.scheduler = scheduler;
 	}
 
 	@Override
@@ -47,7 +47,6 @@ class ValueLobClob implements Clob {
 		return Flux.<CharSequence, InputStreamReader> generate(
 			() -> new InputStreamReader(this.lobDb.getInputStream(), ENCODING),
 			(source, sink) -> {
-				this.valueLobHandlerSink = sink;
 				try {
 					char[] data = new char[256];
 					int readBytes = source.read(data);
@@ -74,12 +73,15 @@ class ValueLobClob implements Clob {
 					throw new RuntimeException(e);
 				}
 			})
-			.subscribeOn(Schedulers.boundedElastic())
-			.cancelOn(Schedulers.boundedElastic());
+			.subscribeOn(this.scheduler)
+			.cancelOn(this.scheduler);
 	}
 
+	/**
+	 * Nothing to release: the value belongs to its result and every {@link #stream()} closes its reader when it terminates or gets cancelled.
+	 */
 	@Override
 	public Mono<Void> discard() {
-		return Mono.fromRunnable(() -> this.valueLobHandlerSink.complete()).then();
+		return Mono.empty();
 	}
 }
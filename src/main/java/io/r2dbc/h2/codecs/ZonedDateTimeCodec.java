@@ -1,20 +1,18 @@
 package io.r2dbc.h2.codecs;
 
-import io.r2dbc.h2.client.Client;
 import io.r2dbc.h2.util.Assert;
 import org.h2.engine.CastDataProvider;
+import org.h2.engine.Session;
 import org.h2.util.JSR310Utils;
 import org.h2.value.Value;
+import reactor.util.annotation.Nullable;
 
 import java.time.ZonedDateTime;
 
-final class ZonedDateTimeCodec extends AbstractCodec<ZonedDateTime> {
+final class ZonedDateTimeCodec extends AbstractSessionCodec<ZonedDateTime> {
 
-    private final Client client;
-
-    ZonedDateTimeCodec(Client client) {
+    ZonedDateTimeCodec() {
         super(ZonedDateTime.class);
-        this.client = client;
     }
 
     @Override
@@ -23,13 +21,13 @@ final class ZonedDateTimeCodec extends AbstractCodec<ZonedDateTime> {
     }
 
     @Override
-    ZonedDateTime doDecode(Value value, Class<? extends ZonedDateTime> type) {
-        Assert.requireType(this.client.getSession(), CastDataProvider.class, "The session must implement CastDataProvider.");
-        return (ZonedDateTime) JSR310Utils.valueToZonedDateTime(value, (CastDataProvider) this.client.getSession());
+    ZonedDateTime doDecode(Value value, Class<? extends ZonedDateTime> type, @Nullable Session session) {
+        Assert.requireType(session, CastDataProvider.class, "The session must implement CastDataProvider.");
+        return (ZonedDateTime) JSR310Utils.valueToZonedDateTime(value, (CastDataProvider) session);
     }
 
     @Override
-    Value doEncode(ZonedDateTime value) {
+    Value doEncode(ZonedDateTime value, @Nullable Session session) {
         return JSR310Utils.zonedDateTimeToValue(Assert.requireNonNull(value, "value must not be null"));
     }
 }
@@ -22,8 +22,10 @@ import io.r2dbc.spi.R2dbcBadGrammarException;
 import org.h2.command.CommandInterface;
 import org.h2.message.DbException;
 import org.h2.result.LocalResult;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.util.Collections;
@@ -35,6 +37,11 @@ final class H2BatchTest {
 
     private final Client client = mock(Client.class, RETURNS_SMART_NULLS);
 
+    @BeforeEach
+    void setUp() {
+        when(this.client.getScheduler()).thenReturn(Schedulers.immediate());
+    }
+
     @Test
     void addNoSql() {
         assertThatIllegalArgumentException().isThrownBy(() -> new H2Batch(this.client, MockCodecs.empty()).add(null))
@@ -72,8 +79,8 @@ final class H2BatchTest {
         ).iterator());
         when(command1.isQuery()).thenReturn(true);
         when(command2.isQuery()).thenReturn(true);
-        when(this.client.query(command1)).thenReturn(new LocalResult());
-        when(this.client.query(command2)).thenReturn(new LocalResult());
+        when(this.client.query(command1, 0, 0)).thenReturn(new LocalResult());
+        when(this.client.query(command2, 0, 0)).thenReturn(new LocalResult());
 
         new H2Batch(this.client, MockCodecs.empty())
             .add("select test-query-1")
@@ -91,7 +98,7 @@ final class H2BatchTest {
             command
         ).iterator());
         when(command.isQuery()).thenReturn(true);
-        when(this.client.query(command)).thenThrow(DbException.getSyntaxError("bad statement", 999));
+        when(this.client.query(command, 0, 0)).thenThrow(DbException.getSyntaxError("bad statement", 999));
 
         new H2Batch(this.client, MockCodecs.empty())
             .add("select test-query")
@@ -21,6 +21,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.util.FileSystemUtils;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
@@ -92,6 +94,75 @@ final class H2ConnectionFactoryTest {
             .verifyComplete();
     }
 
+    @Test
+    void executesOnConfiguredScheduler() {
+        Scheduler scheduler = Schedulers.newSingle("h2-session");
+
+        try {
+            H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
+                .inMemory("scheduled")
+                .username("sa")
+                .password("")
+                .scheduler(scheduler)
+                .build();
+
+            new H2ConnectionFactory(configuration).create()
+                .flatMapMany(connection -> connection.createStatement("SELECT 1").execute()
+                    .flatMap(result -> result.map((row, rowMetadata) -> Thread.currentThread().getName()))
+                    .concatWith(connection.close().then(Mono.empty())))
+                .as(StepVerifier::create)
+                .assertNext(thread -> assertThat(thread).startsWith("h2-session"))
+                .verifyComplete();
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    void schedulerDefaultsToBoundedElastic() {
+        H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
+            .inMemory("in-memory-db")
+            .build();
+
+        assertThat(configuration.getScheduler()).isSameAs(Schedulers.boundedElastic());
+    }
+
+    @Test
+    void virtualThreads() {
+        H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
+            .inMemory("virtual-threads")
+            .username("sa")
+            .password("")
+            .virtualThreads(true)
+            .build();
+
+        if (VirtualThreads.isAvailable()) {
+            assertThat(configuration.getScheduler()).isSameAs(VirtualThreads.getScheduler());
+        } else {
+            assertThat(configuration.getScheduler()).isSameAs(Schedulers.boundedElastic());
+        }
+
+        new H2ConnectionFactory(configuration).create()
+            .flatMapMany(connection -> connection.createStatement("SELECT 1").execute()
+                .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Integer.class)))
+                .concatWith(connection.close().then(Mono.empty())))
+            .as(StepVerifier::create)
+            .expectNext(1)
+            .verifyComplete();
+    }
+
+    @Test
+    void virtualThreadsAndScheduler() {
+        assertThatIllegalArgumentException().isThrownBy(() -> H2ConnectionConfiguration.builder().inMemory("in-memory-db").scheduler(Schedulers.immediate()).virtualThreads(true).build())
+            .withMessage("Configure either a scheduler or virtual threads, not both");
+    }
+
+    @Test
+    void invalidScheduler() {
+        assertThatIllegalArgumentException().isThrownBy(() -> H2ConnectionConfiguration.builder().scheduler(null))
+            .withMessage("scheduler must not be null");
+    }
+
     @Test
     void getMetadata() {
         H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
@@ -19,12 +19,19 @@ package io.r2dbc.h2;
 import io.r2dbc.h2.codecs.DefaultCodecs;
 import io.r2dbc.h2.util.IntegrationTestSupport;
 import io.r2dbc.spi.Option;
+import io.r2dbc.spi.R2dbcTimeoutException;
 import io.r2dbc.spi.TransactionDefinition;
+import io.r2dbc.spi.ValidationDepth;
 import org.h2.engine.Constants;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 final class H2ConnectionIntegrationTest extends IntegrationTestSupport {
 
@@ -57,4 +64,109 @@ final class H2ConnectionIntegrationTest extends IntegrationTestSupport {
 
         connection.beginTransaction(definition).as(StepVerifier::create).verifyComplete();
     }
+
+    @Test
+    void validate() {
+
+        connectionFactory.create()
+            .flatMapMany(connection -> connection.validate(ValidationDepth.REMOTE)
+                .concatWith(connection.validate(ValidationDepth.LOCAL))
+                .concatWith(connection.close().then(connection.validate(ValidationDepth.REMOTE)))
+                .concatWith(connection.validate(ValidationDepth.LOCAL)))
+            .as(StepVerifier::create)
+            .expectNext(true, true, false, false)
+            .verifyComplete();
+    }
+
+    @Test
+    void setLockWaitTimeout() {
+
+        connectionFactory.create()
+            .flatMapMany(connection -> connection.setLockWaitTimeout(Duration.ofMillis(1234))
+                .thenMany(lockTimeout(connection))
+                .concatWith(connection.close().then(Mono.empty())))
+            .as(StepVerifier::create)
+            .expectNext(1234)
+            .verifyComplete();
+    }
+
+    @Test
+    void setLockWaitTimeoutPerTransaction() {
+
+        connectionFactory.create()
+            .flatMapMany(connection -> connection.setLockWaitTimeout(Duration.ofMillis(1234))
+                .then(connection.beginTransaction(H2TransactionDefinition.EMPTY.lockWaitTimeout(Duration.ofMillis(500))))
+                .thenMany(lockTimeout(connection))
+                .concatWith(connection.commitTransaction().thenMany(lockTimeout(connection)))
+                .concatWith(connection.close().then(Mono.empty())))
+            .as(StepVerifier::create)
+            .expectNext(500, 1234)
+            .verifyComplete();
+    }
+
+    @Test
+    void setStatementTimeout() {
+
+        connectionFactory.create()
+            .flatMapMany(connection -> connection.setStatementTimeout(Duration.ofMillis(100))
+                .thenMany(connection.createStatement("SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b").execute())
+                .flatMap(result -> result.map((row, rowMetadata) -> row.get(0)))
+                .onErrorResume(e -> connection.close().then(Mono.error(e))))
+            .as(StepVerifier::create)
+            .verifyError(R2dbcTimeoutException.class);
+    }
+
+    @Test
+    void setStatementTimeoutStreamed() {
+
+        connectionFactory.create()
+            .flatMapMany(connection -> connection.setStatementTimeout(Duration.ofMillis(100))
+                .thenMany(connection.createStatement("SELECT X FROM SYSTEM_RANGE(1, 1000000000)").fetchSize(100).execute())
+                .flatMap(result -> result.map((row, rowMetadata) -> row.get(0)))
+                .onErrorResume(e -> connection.close().then(Mono.error(e))))
+            .as(StepVerifier::create)
+            .thenConsumeWhile(row -> true)
+            .verifyError(R2dbcTimeoutException.class);
+    }
+
+    @Test
+    void setStatementTimeoutStreamedThenNextStatement() {
+
+        connectionFactory.create()
+            .flatMapMany(connection -> connection.setStatementTimeout(Duration.ofMillis(100))
+                .thenMany(connection.createStatement("SELECT X FROM SYSTEM_RANGE(1, 1000000000)").fetchSize(100).execute())
+                .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class)))
+                .then(Mono.<Long>error(new IllegalStateException("the streamed result should have timed out")))
+                .onErrorResume(R2dbcTimeoutException.class, e -> Mono.delay(Duration.ofMillis(200))
+                    .thenMany(connection.createStatement("SELECT COUNT(*) FROM SYSTEM_RANGE(1, 1000)").execute())
+                    .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class)))
+                    .next())
+                .concatWith(connection.close().then(Mono.empty())))
+            .as(StepVerifier::create)
+            .expectNext(1000L)
+            .verifyComplete();
+    }
+
+    @Test
+    void setStatementTimeoutPerTransaction() {
+
+        connectionFactory.create()
+            .flatMapMany(connection -> connection.beginTransaction(H2TransactionDefinition.EMPTY.statementTimeout(Duration.ofMillis(100)))
+                .thenMany(connection.createStatement("SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b").execute())
+                .flatMap(result -> result.map((row, rowMetadata) -> row.get(0)))
+                .onErrorResume(e -> connection.close().then(Mono.error(e))))
+            .as(StepVerifier::create)
+            .verifyError(R2dbcTimeoutException.class);
+    }
+
+    @Test
+    void setStatementTimeoutNegative() {
+        assertThatIllegalArgumentException().isThrownBy(() -> connection.setStatementTimeout(Duration.ofMillis(-1)))
+            .withMessage("timeout must not be negative");
+    }
+
+    private static Flux<Integer> lockTimeout(H2Connection connection) {
+        return connection.createStatement("CALL LOCK_TIMEOUT()").execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Integer.class)));
+    }
 }
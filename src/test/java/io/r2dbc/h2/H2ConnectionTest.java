@@ -21,18 +21,27 @@ import io.r2dbc.h2.codecs.MockCodecs;
 import io.r2dbc.spi.R2dbcNonTransientException;
 import io.r2dbc.spi.R2dbcNonTransientResourceException;
 import io.r2dbc.spi.R2dbcRollbackException;
+import io.r2dbc.spi.ValidationDepth;
+import org.h2.command.CommandInterface;
 import org.h2.engine.Constants;
+import org.h2.engine.Session;
 import org.h2.message.DbException;
+import org.h2.result.ResultInterface;
+import org.h2.value.Value;
+import org.h2.value.ValueVarchar;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLNonTransientConnectionException;
 import java.sql.SQLTransactionRollbackException;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static io.r2dbc.spi.IsolationLevel.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,7 +54,8 @@ final class H2ConnectionTest {
 
     @BeforeEach
     void setUp() {
-        when(this.client.prepareCommand("CALL H2VERSION()", Collections.emptyList())).thenReturn(Collections.emptyIterator());
+        when(this.client.getScheduler()).thenReturn(Schedulers.immediate());
+        when(this.client.getSession()).thenReturn(mock(Session.class));
     }
 
     @Test
@@ -109,13 +119,16 @@ final class H2ConnectionTest {
             .commitTransaction()
             .as(StepVerifier::create)
             .verifyComplete();
+
+        verify(this.client).commit();
+        verify(this.client).enableAutoCommit();
     }
 
     @Test
     void commitTransactionErrorResponse() {
         when(this.client.inTransaction()).thenReturn(true);
         doThrow(DbException.convert(new SQLTransactionRollbackException("can't commit", "some state", 999)))
-            .when(this.client).execute("COMMIT");
+            .when(this.client).commit();
 
         new H2Connection(this.client, MockCodecs.empty())
             .commitTransaction()
@@ -123,6 +136,23 @@ final class H2ConnectionTest {
             .verifyErrorMatches(R2dbcRollbackException.class::isInstance);
     }
 
+    @Test
+    void commitTransactionErrorResponseRestoresTimeouts() {
+        when(this.client.inTransaction()).thenReturn(false, true);
+        when(this.client.getStatementTimeout()).thenReturn(Duration.ZERO);
+        doThrow(DbException.convert(new SQLTransactionRollbackException("can't commit", "some state", 999)))
+            .when(this.client).commit();
+
+        H2Connection connection = new H2Connection(this.client, MockCodecs.empty());
+        connection.beginTransaction(H2TransactionDefinition.EMPTY.statementTimeout(Duration.ofSeconds(1)))
+            .then(connection.commitTransaction())
+            .as(StepVerifier::create)
+            .verifyErrorMatches(R2dbcRollbackException.class::isInstance);
+
+        verify(this.client).setStatementTimeout(Duration.ofSeconds(1));
+        verify(this.client).setStatementTimeout(Duration.ZERO);
+    }
+
     @Test
     void commitTransactionNonOpen() {
         when(this.client.inTransaction()).thenReturn(false);
@@ -165,7 +195,7 @@ final class H2ConnectionTest {
     void createSavepointErrorResponse() {
         when(this.client.inTransaction()).thenReturn(true);
         doThrow(DbException.convert(new SQLFeatureNotSupportedException("can't savepoint", "some state", 999)))
-            .when(this.client).execute("SAVEPOINT test-name");
+            .when(this.client).createSavepoint("test-name");
 
         new H2Connection(this.client, MockCodecs.empty())
             .createSavepoint("test-name")
@@ -209,7 +239,7 @@ final class H2ConnectionTest {
     void releaseSavepointErrorResponse() {
         when(this.client.inTransaction()).thenReturn(true);
         doThrow(DbException.convert(new SQLFeatureNotSupportedException("can't savepoint", "some state", 999)))
-            .when(this.client).execute("RELEASE SAVEPOINT test-name");
+            .when(this.client).releaseSavepoint("test-name");
 
         new H2Connection(this.client, MockCodecs.empty())
             .releaseSavepoint("test-name")
@@ -242,13 +272,16 @@ final class H2ConnectionTest {
             .rollbackTransaction()
             .as(StepVerifier::create)
             .verifyComplete();
+
+        verify(this.client).rollback();
+        verify(this.client).enableAutoCommit();
     }
 
     @Test
     void rollbackTransactionErrorResponse() {
         when(this.client.inTransaction()).thenReturn(true);
         doThrow(DbException.convert(new SQLTransactionRollbackException("can't savepoint", "some state", 999)))
-            .when(this.client).execute("ROLLBACK");
+            .when(this.client).rollback();
 
         new H2Connection(this.client, MockCodecs.empty())
             .rollbackTransaction()
@@ -281,7 +314,7 @@ final class H2ConnectionTest {
     void rollbackTransactionToSavepointErrorResponse() {
         when(this.client.inTransaction()).thenReturn(true);
         doThrow(DbException.convert(new SQLTransactionRollbackException("can't savepoint", "some state", 999)))
-            .when(this.client).execute("ROLLBACK TO SAVEPOINT test-name");
+            .when(this.client).rollbackToSavepoint("test-name");
 
         new H2Connection(this.client, MockCodecs.empty())
             .rollbackTransactionToSavepoint("test-name")
@@ -348,10 +381,49 @@ final class H2ConnectionTest {
 
     @Test
     void getConnectionMetadata() {
+        Session session = mock(Session.class);
+        when(session.isRemote()).thenReturn(false);
+        when(this.client.getSession()).thenReturn(session);
+
         H2ConnectionMetadata metadata = new H2Connection(this.client, MockCodecs.empty()).getMetadata();
 
         assertThat(metadata.getDatabaseProductName()).isEqualTo("H2");
         assertThat(metadata.getDatabaseVersion()).isEqualTo(Constants.VERSION);
+        verify(this.client, never()).prepareCommand(anyString(), anyList());
+    }
+
+    @Test
+    void resolveDatabaseVersionRemote() {
+        Session session = mock(Session.class);
+        CommandInterface command = mock(CommandInterface.class);
+        ResultInterface result = mock(ResultInterface.class);
+        when(session.isRemote()).thenReturn(true);
+        when(this.client.getSession()).thenReturn(session);
+        when(this.client.prepareCommand("CALL H2VERSION()", Collections.emptyList())).thenReturn(Collections.singletonList(command).iterator());
+        when(this.client.query(command)).thenReturn(result);
+        when(result.currentRow()).thenReturn(new Value[]{ValueVarchar.get("2.0.0")});
+        AtomicReference<String> serverVersion = new AtomicReference<>();
+
+        assertThat(H2Connection.resolveDatabaseVersion(this.client, serverVersion)).isEqualTo("2.0.0");
+        assertThat(H2Connection.resolveDatabaseVersion(this.client, serverVersion)).isEqualTo("2.0.0");
+        assertThat(new H2Connection(this.client, MockCodecs.empty(), serverVersion.get()).getMetadata().getDatabaseVersion()).isEqualTo("2.0.0");
+        verify(this.client, times(1)).prepareCommand("CALL H2VERSION()", Collections.emptyList());
+        verify(this.client).releaseCommand(command);
+    }
+
+    @Test
+    void getConnectionMetadataRemote() {
+        Session session = mock(Session.class);
+        CommandInterface command = mock(CommandInterface.class);
+        ResultInterface result = mock(ResultInterface.class);
+        when(session.isRemote()).thenReturn(true);
+        when(this.client.getSession()).thenReturn(session);
+        when(this.client.prepareCommand("CALL H2VERSION()", Collections.emptyList())).thenReturn(Collections.singletonList(command).iterator());
+        when(this.client.query(command)).thenReturn(result);
+        when(result.currentRow()).thenReturn(new Value[]{ValueVarchar.get("2.0.0")});
+
+        assertThat(new H2Connection(this.client, MockCodecs.empty()).getMetadata().getDatabaseVersion()).isEqualTo("2.0.0");
+        verify(this.client).releaseCommand(command);
     }
 
     @Disabled("Not yet implemented")
@@ -371,4 +443,74 @@ final class H2ConnectionTest {
             .withMessage("isolationLevel must not be null");
     }
 
+    @Test
+    void validateLocal() {
+        Session session = mock(Session.class);
+        when(session.isClosed()).thenReturn(false);
+        when(this.client.getSession()).thenReturn(session);
+
+        new H2Connection(this.client, MockCodecs.empty())
+            .validate(ValidationDepth.LOCAL)
+            .as(StepVerifier::create)
+            .expectNext(true)
+            .verifyComplete();
+
+        verify(this.client, never()).prepareCommand(anyString(), anyList());
+    }
+
+    @Test
+    void validateLocalClosed() {
+        Session session = mock(Session.class);
+        when(session.isClosed()).thenReturn(true);
+        when(this.client.getSession()).thenReturn(session);
+
+        new H2Connection(this.client, MockCodecs.empty())
+            .validate(ValidationDepth.LOCAL)
+            .as(StepVerifier::create)
+            .expectNext(false)
+            .verifyComplete();
+    }
+
+    @Test
+    void validateRemote() {
+        Session session = mock(Session.class);
+        CommandInterface command = mock(CommandInterface.class);
+        ResultInterface result = mock(ResultInterface.class);
+        when(this.client.getSession()).thenReturn(session);
+        when(this.client.prepareCommand("SELECT 1", Collections.emptyList())).thenReturn(Collections.singletonList(command).iterator());
+        when(this.client.query(command)).thenReturn(result);
+
+        new H2Connection(this.client, MockCodecs.empty())
+            .validate(ValidationDepth.REMOTE)
+            .as(StepVerifier::create)
+            .expectNext(true)
+            .verifyComplete();
+
+        verify(result).close();
+        verify(this.client).releaseCommand(command);
+    }
+
+    @Test
+    void validateRemoteErrorResponse() {
+        Session session = mock(Session.class);
+        CommandInterface command = mock(CommandInterface.class);
+        when(this.client.getSession()).thenReturn(session);
+        when(this.client.prepareCommand("SELECT 1", Collections.emptyList())).thenReturn(Collections.singletonList(command).iterator());
+        when(this.client.query(command)).thenThrow(DbException.convert(new SQLNonTransientConnectionException("connection lost", "08006", 999)));
+
+        new H2Connection(this.client, MockCodecs.empty())
+            .validate(ValidationDepth.REMOTE)
+            .as(StepVerifier::create)
+            .expectNext(false)
+            .verifyComplete();
+
+        verify(this.client).releaseCommand(command);
+    }
+
+    @Test
+    void validateNoDepth() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new H2Connection(this.client, MockCodecs.empty()).validate(null))
+            .withMessage("depth must not be null");
+    }
+
 }
@@ -16,6 +16,8 @@
 
 package io.r2dbc.h2;
 
+import io.r2dbc.h2.client.SessionClient;
+import io.r2dbc.h2.client.TemporaryLobs;
 import io.r2dbc.h2.codecs.DefaultCodecs;
 import io.r2dbc.h2.util.IntegrationTestSupport;
 import io.r2dbc.spi.Blob;
@@ -25,15 +27,18 @@ import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Hooks;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 /**
  * Integration tests for {@link DefaultCodecs} testing all known codecs with pre-defined values and {@code null} values.
@@ -116,6 +121,287 @@ class H2LobIntegrationTest extends IntegrationTestSupport {
             .verifyComplete();
     }
 
+    @Test
+    void testBlobIsWrittenOnExecution() {
+        createTable(connection, "BLOB");
+
+        AtomicBoolean subscribed = new AtomicBoolean();
+        // the content is produced on a non-blocking thread, it is read without blocking before the command runs
+        Flux<ByteBuffer> content = Flux.range(0, 100).map(it -> ByteBuffer.wrap(ALL_BYTES))
+            .publishOn(Schedulers.parallel())
+            .doOnSubscribe(subscription -> subscribed.set(true));
+
+        H2Statement statement = connection.createStatement("INSERT INTO lob_test values($1)").bind("$1", Blob.from(content));
+
+        assertThat(subscribed).isFalse();
+
+        statement.execute()
+            .flatMap(Result::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyComplete();
+
+        assertThat(subscribed).isTrue();
+
+        connection.createStatement("SELECT OCTET_LENGTH(my_col) FROM lob_test")
+            .execute()
+            .flatMap(it -> it.map((row, rowMetadata) -> row.get(0, Long.class)))
+            .as(StepVerifier::create)
+            .expectNext(100L * ALL_BYTES.length)
+            .verifyComplete();
+    }
+
+    @Test
+    void testBlobIsWrittenPerBinding() {
+        createTable(connection, "BLOB");
+
+        H2Statement statement = connection.createStatement("INSERT INTO lob_test values($1)")
+            .bind("$1", Blob.from(Mono.just(ByteBuffer.wrap(ALL_BYTES)))).add()
+            .bind("$1", Blob.from(Mono.just(ByteBuffer.wrap(ALL_BYTES))));
+
+        // cancelling after the first binding leaves the second one unexecuted
+        statement.execute()
+            .take(1)
+            .flatMap(Result::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyComplete();
+
+        connection.createStatement("SELECT COUNT(*) FROM lob_test")
+            .execute()
+            .flatMap(it -> it.map((row, rowMetadata) -> row.get(0, Long.class)))
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyComplete();
+    }
+
+    @Test
+    void testBlobExecutedConcurrently() {
+        createTable(connection, "BLOB");
+
+        // unlike Blob.from(…), this content can be streamed more than once
+        Blob blob = new Blob() {
+
+            @Override
+            public Flux<ByteBuffer> stream() {
+                return Flux.range(0, 10).map(it -> ByteBuffer.wrap(ALL_BYTES)).publishOn(Schedulers.parallel());
+            }
+
+            @Override
+            public Mono<Void> discard() {
+                return Mono.empty();
+            }
+        };
+
+        H2Statement statement = connection.createStatement("INSERT INTO lob_test values($1)").bind("$1", blob);
+
+        // every execution reads and writes its own LOB, the bindings of the statement are not changed
+        Flux.merge(statement.execute(), statement.execute(), statement.execute())
+            .flatMap(Result::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L, 1L, 1L)
+            .verifyComplete();
+
+        connection.createStatement("SELECT OCTET_LENGTH(my_col) FROM lob_test")
+            .execute()
+            .flatMap(it -> it.map((row, rowMetadata) -> row.get(0, Long.class)))
+            .as(StepVerifier::create)
+            .expectNext(10L * ALL_BYTES.length, 10L * ALL_BYTES.length, 10L * ALL_BYTES.length)
+            .verifyComplete();
+    }
+
+    @Test
+    void testByteBufferIsCopiedOnBind() {
+        createTable(connection, "BLOB");
+
+        ByteBuffer buffer = ByteBuffer.wrap("foo".getBytes());
+        H2Statement statement = connection.createStatement("INSERT INTO lob_test values($1)").bind("$1", buffer);
+        buffer.put(0, (byte) 'b');
+
+        statement.execute()
+            .flatMap(Result::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyComplete();
+
+        connection.createStatement("SELECT my_col FROM lob_test")
+            .execute()
+            .flatMap(it -> it.map((row, rowMetadata) -> row.get("my_col", ByteBuffer.class)))
+            .as(StepVerifier::create)
+            .expectNext(ByteBuffer.wrap("foo".getBytes()))
+            .verifyComplete();
+    }
+
+    @Test
+    void testBlobRejectedWithMultipleStatements() {
+        createTable(connection, "BLOB");
+
+        H2Statement statement = connection.createStatement("INSERT INTO lob_test values($1); INSERT INTO lob_test values($1)")
+            .bind("$1", Blob.from(Mono.just(ByteBuffer.wrap(ALL_BYTES))));
+
+        assertThatIllegalArgumentException().isThrownBy(statement::execute)
+            .withMessage("Blob and Clob parameters are not supported with multiple statements");
+    }
+
+    @Test
+    void testByteBufferReexecuted() {
+        createTable(connection, "BLOB");
+
+        H2Statement statement = connection.createStatement("INSERT INTO lob_test values($1)")
+            .bind("$1", ByteBuffer.wrap(ALL_BYTES));
+
+        Flux.concat(statement.execute(), statement.execute())
+            .flatMap(Result::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L, 1L)
+            .verifyComplete();
+
+        connection.createStatement("SELECT OCTET_LENGTH(my_col) FROM lob_test")
+            .execute()
+            .flatMap(it -> it.map((row, rowMetadata) -> row.get(0, Long.class)))
+            .as(StepVerifier::create)
+            .expectNext((long) ALL_BYTES.length, (long) ALL_BYTES.length)
+            .verifyComplete();
+    }
+
+    @Test
+    void testTemporaryLobsReleased() {
+        TestSessionClient session = TestSessionClient.create();
+        TemporaryLobs temporaryLobs = session.doWithClient(SessionClient::getTemporaryLobs);
+        Blob content = Blob.from(Flux.range(0, 10).map(it -> ByteBuffer.wrap(ALL_BYTES)));
+
+        session.doWithConnection(c -> c.createStatement("CREATE TABLE lob_test (my_col BLOB)").execute().flatMap(H2Result::getRowsUpdated).then(c.beginTransaction())
+            .thenMany(c.createStatement("INSERT INTO lob_test values($1)").bind("$1", content).execute())
+            .flatMap(H2Result::getRowsUpdated)
+            .blockLast());
+
+        assertThat(temporaryLobs.getOutstanding()).isZero();
+        assertThat(temporaryLobs.getReleased()).isEqualTo(1);
+
+        // a streamed result reads through the command, its parameters are released once the result is consumed
+        H2Result result = session.doWithConnection(c -> c.createStatement("SELECT $1")
+            .bind("$1", Blob.from(Mono.just(ByteBuffer.wrap(ALL_BYTES))))
+            .fetchSize(1)
+            .execute()
+            .blockFirst());
+
+        assertThat(temporaryLobs.getOutstanding()).isEqualTo(1);
+
+        Flux.from(result.map((row, rowMetadata) -> row.get(0, ByteBuffer.class)))
+            .as(StepVerifier::create)
+            .expectNext(ByteBuffer.wrap(ALL_BYTES))
+            .verifyComplete();
+
+        assertThat(temporaryLobs.getOutstanding()).isZero();
+        assertThat(temporaryLobs.getReleased()).isEqualTo(2);
+
+        session.doWithConnection(H2Connection::close).block();
+    }
+
+    @Test
+    void testBlobRebound() {
+        createTable(connection, "BLOB");
+
+        AtomicBoolean subscribed = new AtomicBoolean();
+
+        Flux.from(connection.createStatement("INSERT INTO lob_test values($1)")
+            .bind("$1", Blob.from(Mono.just(ByteBuffer.wrap(ALL_BYTES)).doOnSubscribe(subscription -> subscribed.set(true))))
+            .bind("$1", ByteBuffer.wrap("foo".getBytes()))
+            .execute())
+            .flatMap(Result::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyComplete();
+
+        assertThat(subscribed).isFalse();
+
+        connection.createStatement("SELECT my_col FROM lob_test")
+            .execute()
+            .flatMap(it -> it.map((row, rowMetadata) -> row.get("my_col", ByteBuffer.class)))
+            .as(StepVerifier::create)
+            .expectNext(ByteBuffer.wrap("foo".getBytes()))
+            .verifyComplete();
+    }
+
+    @Test
+    void testSmallBlobAsByteBuffer() {
+        createTable(connection, "BLOB");
+
+        Flux.from(connection.createStatement("INSERT INTO lob_test values(X'666f6f')")
+            .execute())
+            .flatMap(Result::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyComplete();
+
+        connection.createStatement("SELECT my_col FROM lob_test")
+            .execute()
+            .flatMap(it -> it.map((row, rowMetadata) -> row.get("my_col", ByteBuffer.class)))
+            .as(StepVerifier::create)
+            .consumeNextWith(actual -> {
+                assertThat(actual).isEqualTo(ByteBuffer.wrap("foo".getBytes()));
+                assertThat(actual.isReadOnly()).isTrue();
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void testSmallByteBufferIsInlined() {
+        createTable(connection, "BLOB");
+
+        ByteBuffer buffer = ByteBuffer.wrap("foo".getBytes());
+
+        Flux.from(connection.createStatement("INSERT INTO lob_test values($1)")
+            .bind("$1", buffer)
+            .execute())
+            .flatMap(Result::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyComplete();
+
+        assertThat(buffer.remaining()).isEqualTo(3);
+
+        connection.createStatement("SELECT my_col FROM lob_test")
+            .execute()
+            .flatMap(it -> it.map((row, rowMetadata) -> row.get("my_col", ByteBuffer.class)))
+            .as(StepVerifier::create)
+            .consumeNextWith(actual -> {
+                assertThat(actual).isEqualTo(ByteBuffer.wrap("foo".getBytes()));
+                // only in-memory BLOBs decode into read-only buffers
+                assertThat(actual.isReadOnly()).isTrue();
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void testBigBlobAsByteBuffer() {
+        createTable(connection, "BLOB");
+
+        byte[] bytes = new byte[64 * ALL_BYTES.length];
+        for (int i = 0; i < bytes.length; i += ALL_BYTES.length) {
+            System.arraycopy(ALL_BYTES, 0, bytes, i, ALL_BYTES.length);
+        }
+
+        Flux.from(connection.createStatement("INSERT INTO lob_test values($1)")
+            // in-memory databases keep LOBs of known length inline, streamed content is always written to the LOB storage
+            .bind("$1", Blob.from(Mono.just(ByteBuffer.wrap(bytes))))
+            .execute())
+            .flatMap(Result::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyComplete();
+
+        connection.createStatement("SELECT my_col FROM lob_test")
+            .execute()
+            .flatMap(it -> it.map((row, rowMetadata) -> row.get("my_col", ByteBuffer.class)))
+            .as(StepVerifier::create)
+            .consumeNextWith(actual -> {
+                assertThat(actual).isEqualTo(ByteBuffer.wrap(bytes));
+                assertThat(actual.isReadOnly()).isFalse();
+            })
+            .verifyComplete();
+    }
+
     @Test
     void testNullClob() {
         createTable(connection, "CLOB");
@@ -157,6 +443,26 @@ class H2LobIntegrationTest extends IntegrationTestSupport {
             .verifyComplete();
     }
 
+    @Test
+    void testEmptyClob() {
+        createTable(connection, "CLOB");
+
+        Flux.from(connection.createStatement("INSERT INTO lob_test values($1)")
+            .bind("$1", Clob.from(Flux.empty()))
+            .execute())
+            .flatMap(Result::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyComplete();
+
+        connection.createStatement("SELECT CHAR_LENGTH(my_col) FROM lob_test")
+            .execute()
+            .flatMap(it -> it.map((row, rowMetadata) -> row.get(0, Long.class)))
+            .as(StepVerifier::create)
+            .expectNext(0L)
+            .verifyComplete();
+    }
+
     @Test
     void testCharacterLargeObject() {
         createTable(connection, "CHARACTER LARGE OBJECT");
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2;
+
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+final class H2PooledConnectionFactoryTest {
+
+    private final H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
+        .inMemory(UUID.randomUUID().toString())
+        .property(H2ConnectionOption.DB_CLOSE_DELAY, "-1")
+        .username("sa")
+        .build();
+
+    private H2PooledConnectionFactory connectionFactory = H2PooledConnectionFactory.builder(this.configuration).maxSize(2).build();
+
+    @AfterEach
+    void tearDown() {
+        this.connectionFactory.close().block();
+    }
+
+    @Test
+    void builderNoConfiguration() {
+        assertThatIllegalArgumentException().isThrownBy(() -> H2PooledConnectionFactory.builder(null))
+            .withMessage("configuration must not be null");
+    }
+
+    @Test
+    void builderInvalidSizes() {
+        H2PooledConnectionFactory.Builder builder = H2PooledConnectionFactory.builder(this.configuration);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> builder.maxSize(0))
+            .withMessage("maxSize must be greater than zero");
+        assertThatIllegalArgumentException().isThrownBy(() -> builder.minSize(-1))
+            .withMessage("minSize must be greater or equal to zero");
+        assertThatIllegalArgumentException().isThrownBy(() -> builder.maxIdleTime(Duration.ofSeconds(-1)))
+            .withMessage("maxIdleTime must not be negative");
+        assertThatIllegalArgumentException().isThrownBy(() -> builder.minSize(3).maxSize(2).build())
+            .withMessage("minSize must be less or equal to maxSize");
+    }
+
+    @Test
+    void reusesSession() {
+        H2Connection first = this.connectionFactory.create().block();
+        int sessionId = sessionId(first);
+        first.close().block();
+
+        H2Connection second = this.connectionFactory.create().block();
+
+        assertThat(sessionId(second)).isEqualTo(sessionId);
+        assertThat(this.connectionFactory.getMetrics().getAllocatedSize()).isEqualTo(1);
+        assertThat(this.connectionFactory.getMetrics().getAcquiredSize()).isEqualTo(1);
+
+        second.close().block();
+
+        assertThat(this.connectionFactory.getMetrics().getAcquiredSize()).isZero();
+        assertThat(this.connectionFactory.getMetrics().getIdleSize()).isEqualTo(1);
+    }
+
+    @Test
+    void resetsSessionOnRelease() {
+        H2Connection first = this.connectionFactory.create().block();
+        execute(first, "CREATE TABLE test (id INTEGER)");
+        execute(first, "CREATE SCHEMA other");
+
+        int lockTimeout = query(first, "CALL LOCK_TIMEOUT()", Integer.class);
+
+        first.beginTransaction().block();
+        execute(first, "INSERT INTO test VALUES (1)");
+        execute(first, "SET SCHEMA other");
+        first.setLockWaitTimeout(Duration.ofMillis(lockTimeout + 1234)).block();
+        first.close().block();
+
+        H2Connection second = this.connectionFactory.create().block();
+
+        assertThat(second.isAutoCommit()).isTrue();
+        assertThat(query(second, "CALL SCHEMA()", String.class)).isEqualTo("PUBLIC");
+        assertThat(query(second, "CALL LOCK_TIMEOUT()", Integer.class)).isEqualTo(lockTimeout);
+        assertThat(query(second, "SELECT COUNT(*) FROM test", Long.class)).isZero();
+
+        second.close().block();
+    }
+
+    @Test
+    void discardsSessionWithOpenResult() {
+        H2Connection first = this.connectionFactory.create().block();
+        int sessionId = sessionId(first);
+
+        List<H2Result> results = Flux.from(first.createStatement("SELECT x FROM SYSTEM_RANGE(1, 100)").fetchSize(10).execute()).collectList().block();
+        assertThat(results).hasSize(1);
+        first.close().block();
+
+        assertThat(this.connectionFactory.getMetrics().getAllocatedSize()).isZero();
+        assertThat(this.connectionFactory.getMetrics().getAcquiredSize()).isZero();
+
+        H2Connection second = this.connectionFactory.create().block();
+        assertThat(sessionId(second)).isNotEqualTo(sessionId);
+        second.close().block();
+
+        assertThat(this.connectionFactory.getMetrics().getIdleSize()).isEqualTo(1);
+    }
+
+    @Test
+    void releasesSessionAfterConsumedResult() {
+        H2Connection first = this.connectionFactory.create().block();
+        int sessionId = sessionId(first);
+
+        Flux.from(first.createStatement("SELECT x FROM SYSTEM_RANGE(1, 100)").fetchSize(10).execute())
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class)))
+            .as(StepVerifier::create)
+            .expectNextCount(100)
+            .verifyComplete();
+        first.close().block();
+
+        H2Connection second = this.connectionFactory.create().block();
+        assertThat(sessionId(second)).isEqualTo(sessionId);
+        second.close().block();
+    }
+
+    @Test
+    void pendingAcquireWaitsForRelease() {
+        this.connectionFactory.close().block();
+        this.connectionFactory = H2PooledConnectionFactory.builder(this.configuration).maxSize(1).build();
+
+        H2Connection first = this.connectionFactory.create().block();
+        int sessionId = sessionId(first);
+        Mono<H2Connection> second = this.connectionFactory.create().cache();
+        Disposable subscription = second.subscribe();
+
+        assertThat(this.connectionFactory.getMetrics().getPendingAcquireSize()).isEqualTo(1);
+
+        first.close().block();
+
+        assertThat(sessionId(second.block(Duration.ofSeconds(5)))).isEqualTo(sessionId);
+        assertThat(this.connectionFactory.getMetrics().getPendingAcquireSize()).isZero();
+        subscription.dispose();
+    }
+
+    @Test
+    void cancelledAcquireLeavesQueue() {
+        this.connectionFactory.close().block();
+        this.connectionFactory = H2PooledConnectionFactory.builder(this.configuration).maxSize(1).build();
+
+        H2Connection first = this.connectionFactory.create().block();
+        Disposable subscription = this.connectionFactory.create().subscribe();
+
+        assertThat(this.connectionFactory.getMetrics().getPendingAcquireSize()).isEqualTo(1);
+
+        subscription.dispose();
+        first.close().block();
+
+        H2PooledConnectionFactory.PoolMetrics metrics = this.connectionFactory.getMetrics();
+        assertThat(metrics.getPendingAcquireSize()).isZero();
+        assertThat(metrics.getAcquiredSize()).isZero();
+        assertThat(metrics.getIdleSize()).isEqualTo(1);
+    }
+
+    @Test
+    void closedConnectionRejectsUse() {
+        H2Connection connection = this.connectionFactory.create().block();
+        connection.close().block();
+        connection.close().block();
+
+        assertThatExceptionOfType(R2dbcNonTransientResourceException.class).isThrownBy(connection::isAutoCommit)
+            .withMessage("Connection is closed");
+        assertThat(this.connectionFactory.getMetrics().getIdleSize()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsIdleSessions() throws InterruptedException {
+        this.connectionFactory.close().block();
+        this.connectionFactory = H2PooledConnectionFactory.builder(this.configuration).minSize(1).maxSize(2).maxIdleTime(Duration.ofMillis(1)).build();
+
+        H2Connection first = this.connectionFactory.create().block();
+        H2Connection second = this.connectionFactory.create().block();
+        first.close().block();
+        second.close().block();
+
+        Thread.sleep(10);
+        this.connectionFactory.evictIdle();
+
+        assertThat(this.connectionFactory.getMetrics().getAllocatedSize()).isEqualTo(1);
+        assertThat(this.connectionFactory.getMetrics().getIdleSize()).isEqualTo(1);
+    }
+
+    @Test
+    void warmup() {
+        this.connectionFactory.close().block();
+        this.connectionFactory = H2PooledConnectionFactory.builder(this.configuration).minSize(2).maxSize(3).build();
+
+        this.connectionFactory.warmup()
+            .as(StepVerifier::create)
+            .expectNext(2)
+            .verifyComplete();
+
+        assertThat(this.connectionFactory.getMetrics().getIdleSize()).isEqualTo(2);
+        assertThat(this.connectionFactory.getMetrics().getAllocatedSize()).isEqualTo(2);
+    }
+
+    @Test
+    void close() {
+        this.connectionFactory.close().block();
+        this.connectionFactory = H2PooledConnectionFactory.builder(this.configuration).maxSize(1).build();
+
+        H2Connection first = this.connectionFactory.create().block();
+        Mono<H2Connection> pending = this.connectionFactory.create().cache();
+        pending.subscribe(null, e -> {
+        });
+
+        this.connectionFactory.close().block();
+        first.close().block();
+
+        pending.as(StepVerifier::create)
+            .verifyError(R2dbcNonTransientResourceException.class);
+        this.connectionFactory.create()
+            .as(StepVerifier::create)
+            .verifyError(R2dbcNonTransientResourceException.class);
+        assertThat(this.connectionFactory.getMetrics().getAllocatedSize()).isZero();
+    }
+
+    private static int sessionId(H2Connection connection) {
+        return query(connection, "CALL SESSION_ID()", Integer.class);
+    }
+
+    private static <T> T query(H2Connection connection, String sql, Class<T> type) {
+        return Flux.from(connection.createStatement(sql).execute()).flatMap(result -> result.map((row, rowMetadata) -> row.get(0, type))).blockLast();
+    }
+
+    private static void execute(H2Connection connection, String sql) {
+        Flux.from(connection.createStatement(sql).execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+    }
+}
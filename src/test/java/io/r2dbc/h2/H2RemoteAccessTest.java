@@ -16,17 +16,21 @@
 
 package io.r2dbc.h2;
 
+import org.h2.engine.Constants;
 import org.h2.tools.Server;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.util.FileSystemUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.SQLException;
+import java.time.Duration;
 
 final class H2RemoteAccessTest {
 
@@ -104,4 +108,54 @@ final class H2RemoteAccessTest {
 
         FileSystemUtils.deleteRecursively(basePath);
     }
+
+    @Test
+    void tcpMetadataQueriesVersionOncePerFactory() throws IOException {
+        FileSystemUtils.deleteRecursively(basePath);
+
+        H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
+            .tcp("localhost", 9123, basePath.toString())
+            .username("sa")
+            .password("")
+            .build();
+
+        H2ConnectionFactory connectionFactory = new H2ConnectionFactory(configuration);
+
+        Flux.range(0, 2)
+            .concatMap(i -> connectionFactory.create()
+                .flatMap(connection -> Mono.fromSupplier(() -> connection.getMetadata().getDatabaseVersion()).flatMap(version -> connection.close().thenReturn(version))))
+            .as(StepVerifier::create)
+            .expectNext(Constants.VERSION, Constants.VERSION)
+            .verifyComplete();
+
+        FileSystemUtils.deleteRecursively(basePath);
+    }
+
+    @Test
+    void tcpLockWaitTimeoutPerTransaction() throws IOException {
+        FileSystemUtils.deleteRecursively(basePath);
+
+        H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
+            .tcp("localhost", 9123, basePath.toString())
+            .username("sa")
+            .password("")
+            .build();
+
+        new H2ConnectionFactory(configuration).create()
+            .flatMapMany(connection -> connection.setLockWaitTimeout(Duration.ofMillis(1234))
+                .then(connection.beginTransaction(H2TransactionDefinition.EMPTY.lockWaitTimeout(Duration.ofMillis(500))))
+                .thenMany(lockTimeout(connection))
+                .concatWith(connection.rollbackTransaction().thenMany(lockTimeout(connection)))
+                .concatWith(connection.close().then(Mono.empty())))
+            .as(StepVerifier::create)
+            .expectNext(500, 1234)
+            .verifyComplete();
+
+        FileSystemUtils.deleteRecursively(basePath);
+    }
+
+    private static Flux<Integer> lockTimeout(H2Connection connection) {
+        return connection.createStatement("CALL LOCK_TIMEOUT()").execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Integer.class)));
+    }
 }
@@ -71,6 +71,21 @@ final class H2ResultTest {
             .verifyComplete();
     }
 
+    @Test
+    void toResultClosesCursorOnCancel() {
+        when(this.result.hasNext()).thenReturn(true);
+        when(this.result.currentRow()).thenReturn(new Value[]{ValueInteger.get(100)});
+
+        H2Result.toResult(MockCodecs.empty(), this.result, null)
+            .map((row, rowMetadata) -> row)
+            .take(2)
+            .as(StepVerifier::create)
+            .expectNextCount(2)
+            .verifyComplete();
+
+        verify(this.result).close();
+    }
+
     @Test
     void toResultNoCodecs() {
         assertThatIllegalArgumentException().isThrownBy(() -> H2Result.toResult(null, this.result, 0L))
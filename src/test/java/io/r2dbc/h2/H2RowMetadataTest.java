@@ -24,6 +24,7 @@ import org.h2.result.ResultInterface;
 import org.h2.table.Column;
 import org.h2.value.TypeInfo;
 import org.h2.value.Value;
+import org.h2.value.ValueBoolean;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
@@ -53,6 +54,30 @@ final class H2RowMetadataTest {
             .withMessage("columnMetadatas must not be null");
     }
 
+    @Test
+    void getColumnIndex() {
+        H2RowMetadata rowMetadata = new H2RowMetadata(Arrays.asList(
+            new H2ColumnMetadata(codecs, "id", TypeInfo.TYPE_INTEGER, NULLABLE, 32L, 0),
+            new H2ColumnMetadata(codecs, "ID", TypeInfo.TYPE_VARCHAR, NULLABLE, 100L, 0)
+        ));
+
+        assertThat(rowMetadata.getColumnIndex("ID")).isZero();
+        assertThat(rowMetadata.getColumnIndex("NAME")).isEqualTo(-1);
+        assertThat(rowMetadata.getValueType(1)).isEqualTo(Value.VARCHAR);
+        assertThat(rowMetadata.getIndexedColumnNames()).containsExactly("ID");
+    }
+
+    @Test
+    void getDecoderIsResolvedOnce() {
+        H2RowMetadata rowMetadata = new H2RowMetadata(this.columnMetadatas);
+
+        Codecs.Decoder<String> decoder = rowMetadata.getDecoder(0, String.class, this.codecs);
+
+        assertThat(rowMetadata.getDecoder(0, String.class, this.codecs)).isSameAs(decoder);
+        assertThat(rowMetadata.getDecoder(0, Object.class, this.codecs)).isNotSameAs(decoder);
+        assertThat(rowMetadata.getDecoder(1, Boolean.class, this.codecs).decode(ValueBoolean.TRUE)).isTrue();
+    }
+
     @Test
     void getColumnMetadataIndex() {
         assertThat(new H2RowMetadata(this.columnMetadatas).getColumnMetadata(1))
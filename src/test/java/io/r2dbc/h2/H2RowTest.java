@@ -16,9 +16,19 @@
 
 package io.r2dbc.h2;
 
+import io.r2dbc.h2.client.Client;
+import io.r2dbc.h2.codecs.Codecs;
+import io.r2dbc.h2.codecs.DefaultCodecs;
+import io.r2dbc.h2.codecs.MockCodecs;
 import io.r2dbc.h2.util.H2ServerExtension;
 import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.R2dbcException;
+import org.h2.value.TypeInfo;
+import org.h2.value.Value;
+import org.h2.value.ValueInteger;
+import org.h2.value.ValueNull;
+import org.h2.value.ValueVarchar;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,9 +38,14 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.NoSuchElementException;
 
+import static io.r2dbc.spi.Nullability.NULLABLE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
 
 @ExtendWith(H2ServerExtension.class)
 final class H2RowTest {
@@ -94,6 +109,93 @@ final class H2RowTest {
             .verifyComplete();
     }
 
+    @Test
+    void getByIndexAndName() {
+        Value id = ValueInteger.get(100);
+        Value name = ValueVarchar.get("test-value");
+
+        MockCodecs codecs = MockCodecs.builder()
+            .decoding(id, Value.INTEGER, Integer.class, 100)
+            .decoding(name, Value.VARCHAR, String.class, "test-value")
+            .build();
+
+        H2Row row = H2Row.toRow(new Value[]{id, name}, codecs, rowMetadata());
+
+        assertThat(row.get(0, Integer.class)).isEqualTo(100);
+        assertThat(row.get("name", String.class)).isEqualTo("test-value");
+        assertThat(row.get("NAME", String.class)).isEqualTo("test-value");
+    }
+
+    @Test
+    void getInvalidIndex() {
+        MockCodecs codecs = MockCodecs.empty();
+        H2Row row = H2Row.toRow(new Value[]{ValueInteger.get(100), ValueVarchar.get("test-value")}, codecs, rowMetadata());
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> row.get(2, Object.class))
+            .withMessage("Column index 2 is larger than the number of columns 2");
+    }
+
+    @Test
+    void getInvalidName() {
+        MockCodecs codecs = MockCodecs.empty();
+        H2Row row = H2Row.toRow(new Value[]{ValueInteger.get(100), ValueVarchar.get("test-value")}, codecs, rowMetadata());
+
+        assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(() -> row.get("other", Object.class))
+            .withMessage("Column name 'OTHER' does not exist in column names [ID, NAME]");
+    }
+
+    @Test
+    void getPrimitives() {
+        H2Row row = H2Row.toRow(new Value[]{ValueInteger.get(100), ValueVarchar.get("1.5")}, MockCodecs.empty(), rowMetadata());
+
+        assertThat(row.getInt(0)).isEqualTo(100);
+        assertThat(row.getLong("id")).isEqualTo(100L);
+        assertThat(row.getDouble(1)).isEqualTo(1.5d);
+        assertThat(row.getBoolean(0)).isTrue();
+        assertThat(row.isNull(0)).isFalse();
+    }
+
+    @Test
+    void getPrimitivesNull() {
+        H2Row row = H2Row.toRow(new Value[]{ValueNull.INSTANCE, ValueNull.INSTANCE}, MockCodecs.empty(), rowMetadata());
+
+        assertThat(row.getInt(0)).isZero();
+        assertThat(row.getLong(0)).isZero();
+        assertThat(row.getDouble("name")).isZero();
+        assertThat(row.getBoolean(1)).isFalse();
+        assertThat(row.isNull(0)).isTrue();
+        assertThat(row.isNull("NAME")).isTrue();
+    }
+
+    @Test
+    void getPrimitivesInvalidConversion() {
+        H2Row row = H2Row.toRow(new Value[]{ValueInteger.get(100), ValueVarchar.get("test-value")}, MockCodecs.empty(), rowMetadata());
+
+        assertThatExceptionOfType(R2dbcException.class).isThrownBy(() -> row.getLong(1));
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> row.getInt(2));
+    }
+
+    @Test
+    void rowsShareMetadata() {
+        MockCodecs codecs = MockCodecs.empty();
+        H2RowMetadata rowMetadata = rowMetadata();
+
+        H2Row first = H2Row.toRow(new Value[]{ValueInteger.get(1), ValueVarchar.get("first")}, codecs, rowMetadata);
+        H2Row second = H2Row.toRow(new Value[]{ValueInteger.get(1), ValueVarchar.get("first")}, codecs, rowMetadata);
+
+        assertThat(first.getMetadata()).isSameAs(second.getMetadata());
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+    }
+
+    private static H2RowMetadata rowMetadata() {
+        Codecs codecs = new DefaultCodecs(mock(Client.class));
+
+        return new H2RowMetadata(Arrays.asList(
+            new H2ColumnMetadata(codecs, "id", TypeInfo.TYPE_INTEGER, NULLABLE, 32L, 0),
+            new H2ColumnMetadata(codecs, "name", TypeInfo.TYPE_VARCHAR, NULLABLE, 255L, 0)
+        ));
+    }
+
 
     static <T> Mono<T> close(Connection connection) {
         return Mono.from(connection
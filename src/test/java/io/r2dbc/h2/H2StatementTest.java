@@ -18,6 +18,8 @@ package io.r2dbc.h2;
 
 import io.r2dbc.h2.client.Binding;
 import io.r2dbc.h2.client.Client;
+import io.r2dbc.h2.client.CommandCache;
+import io.r2dbc.h2.client.SessionClient;
 import io.r2dbc.h2.codecs.MockCodecs;
 import io.r2dbc.h2.util.H2ServerExtension;
 import io.r2dbc.spi.ConnectionFactories;
@@ -26,20 +28,25 @@ import io.r2dbc.spi.ConnectionFactoryOptions;
 import io.r2dbc.spi.Parameter;
 import io.r2dbc.spi.Parameters;
 import io.r2dbc.spi.R2dbcBadGrammarException;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
 import org.h2.command.CommandInterface;
 import org.h2.result.LocalResult;
 import org.h2.result.ResultWithGeneratedKeys;
 import org.h2.value.Value;
 import org.h2.value.ValueInteger;
 import org.h2.value.ValueNull;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.jdbc.core.JdbcOperations;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 import reactor.util.function.Tuples;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -63,6 +70,11 @@ final class H2StatementTest {
 
     private final Client client = mock(Client.class, RETURNS_SMART_NULLS);
 
+    @BeforeEach
+    void setUp() {
+        when(this.client.getScheduler()).thenReturn(Schedulers.immediate());
+    }
+
     private final Value parameter = ValueInteger.get(100);
 
     private final Parameter inParameter = Parameters.in(100);
@@ -186,7 +198,7 @@ final class H2StatementTest {
             new Binding().add(0, ValueNull.INSTANCE)
         ))).thenReturn(commands.iterator());
         commands.forEach(c -> when(c.isQuery()).thenReturn(true));
-        commands.forEach(c -> when(this.client.query(c)).thenReturn(new LocalResult()));
+        commands.forEach(c -> when(this.client.query(c, 0, 0)).thenReturn(new LocalResult()));
 
         MockCodecs codecs = MockCodecs.builder()
             .encoding(100, ValueInteger.get(100))
@@ -212,6 +224,249 @@ final class H2StatementTest {
             .verifyComplete();
     }
 
+    @Test
+    void executeManyBindingsPreparesOnce() {
+        TestSessionClient testClient = TestSessionClient.create();
+
+        testClient.doWithConnection(connection -> connection.createStatement("CREATE TABLE test (id INTEGER PRIMARY KEY AUTO_INCREMENT, test_value INTEGER)").execute()
+            .flatMap(H2Result::getRowsUpdated)
+            .then()
+            .block());
+
+        CommandCache commandCache = testClient.doWithClient(SessionClient::getCommandCache);
+        long misses = commandCache.getMisses();
+
+        testClient.doWithConnection(connection -> {
+            H2Statement statement = connection.createStatement("INSERT INTO test (test_value) VALUES ($1)").bind("$1", 0);
+            for (int i = 1; i < 100; i++) {
+                statement.add().bind("$1", i);
+            }
+
+            return statement.returnGeneratedValues("id")
+                .execute()
+                .concatMap(result -> result.map((row, rowMetadata) -> row.get("id", Integer.class)))
+                .as(StepVerifier::create)
+                .expectNextCount(100)
+                .verifyComplete();
+        });
+
+        assertThat(commandCache.getMisses()).isEqualTo(misses + 1);
+        testClient.doWithConnection(connection -> connection.createStatement("SELECT COUNT(*) FROM test").execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class)))
+            .as(StepVerifier::create)
+            .expectNext(100L)
+            .verifyComplete());
+    }
+
+    @Test
+    void executeManyBindingsStopsAtFirstFailure() {
+        TestSessionClient testClient = TestSessionClient.create();
+
+        testClient.doWithConnection(connection -> connection.createStatement("CREATE TABLE test (id INTEGER PRIMARY KEY, test_value INTEGER)").execute()
+            .flatMap(H2Result::getRowsUpdated)
+            .then()
+            .block());
+
+        testClient.doWithConnection(connection -> connection.createStatement("INSERT INTO test VALUES ($1, $2)")
+            .bind("$1", 1).bind("$2", 100).add()
+            .bind("$1", 1).bind("$2", 200).add()
+            .bind("$1", 3).bind("$2", 300)
+            .execute()
+            .concatMap(H2Result::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyError(R2dbcDataIntegrityViolationException.class));
+
+        testClient.doWithConnection(connection -> connection.createStatement("SELECT test_value FROM test ORDER BY id").execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Integer.class)))
+            .as(StepVerifier::create)
+            .expectNext(100)
+            .verifyComplete());
+    }
+
+    @Test
+    void executeManyBindingsStreamedConcurrently() {
+        TestSessionClient testClient = TestSessionClient.create();
+
+        testClient.doWithConnection(connection -> connection.setStatementTimeout(Duration.ofSeconds(10))
+            .thenMany(connection.createStatement("SELECT X FROM SYSTEM_RANGE(1, $1)")
+                .bind("$1", 1000).add()
+                .bind("$1", 2000).add()
+                .bind("$1", 3000)
+                .fetchSize(10)
+                .execute())
+            // every binding leaves its lazy result open on the same session while the results are read interleaved
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class)).count())
+            .collectList()
+            .as(StepVerifier::create)
+            .assertNext(counts -> assertThat(counts).containsExactlyInAnyOrder(1000L, 2000L, 3000L))
+            .verifyComplete());
+
+        testClient.doWithConnection(connection -> connection.createStatement("SELECT COUNT(*) FROM SYSTEM_RANGE(1, 1000)").execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class)))
+            .as(StepVerifier::create)
+            .expectNext(1000L)
+            .verifyComplete());
+    }
+
+    @Test
+    void executeScriptWithSemicolonsInLiterals() {
+        TestSessionClient testClient = TestSessionClient.create();
+
+        testClient.doWithConnection(connection -> connection.createStatement("CREATE TABLE test (test_value VARCHAR(255)); -- create; \n"
+                + "INSERT INTO test VALUES ('a;b'); /* insert; */ SELECT test_value AS \"x;y\" FROM test")
+            .execute()
+            .concatMap(result -> result.map((row, rowMetadata) -> row.get("x;y", String.class)))
+            .as(StepVerifier::create)
+            .expectNext("a;b")
+            .verifyComplete());
+    }
+
+    @Test
+    void executeWithNamedParameters() {
+        TestSessionClient testClient = TestSessionClient.create();
+
+        testClient.doWithConnection(connection -> connection.createStatement("CREATE TABLE test (id INTEGER, test_value VARCHAR(255))").execute()
+            .flatMap(H2Result::getRowsUpdated)
+            .then()
+            .block());
+
+        testClient.doWithConnection(connection -> connection.createStatement("INSERT INTO test VALUES (:id, :value)")
+            .bind("value", "foo")
+            .bind(":id", 42)
+            .execute()
+            .flatMap(H2Result::getRowsUpdated)
+            .then()
+            .block());
+
+        testClient.doWithConnection(connection -> connection.createStatement("SELECT test_value FROM test WHERE id = :id AND id >= :id")
+            .bind("id", 42)
+            .execute()
+            .concatMap(result -> result.map((row, rowMetadata) -> row.get("test_value", String.class)))
+            .as(StepVerifier::create)
+            .expectNext("foo")
+            .verifyComplete());
+    }
+
+    @Test
+    void executeCancelsRunningCommand() throws InterruptedException {
+        TestSessionClient testClient = TestSessionClient.create();
+
+        Disposable execution = testClient.doWithConnection(connection -> connection.createStatement("SELECT COUNT(*) FROM SYSTEM_RANGE(1, 1000000) a, SYSTEM_RANGE(1, 1000000) b")
+            .execute()
+            .subscribeOn(Schedulers.single())
+            .subscribe());
+
+        Thread.sleep(100);
+        execution.dispose();
+
+        testClient.doWithConnection(connection -> connection.createStatement("SELECT 1").execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Integer.class)))
+            .subscribeOn(Schedulers.boundedElastic())
+            .as(StepVerifier::create)
+            .expectNext(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void executeAfterConcurrentCancel() throws InterruptedException {
+        TestSessionClient testClient = TestSessionClient.create();
+        String sql = "SELECT COUNT(*) FROM SYSTEM_RANGE(1, $1)";
+
+        for (int i = 0; i < 100; i++) {
+            int rows = i * 5_000;
+            Disposable execution = testClient.doWithConnection(connection -> connection.createStatement(sql)
+                .bind("$1", rows)
+                .execute()
+                .subscribeOn(Schedulers.single())
+                .subscribe());
+
+            // the cancellation races the execution and the release of its command
+            Thread.sleep(1);
+            execution.dispose();
+
+            // runs after the cancelled execution on the same thread and leases its command if it was released
+            testClient.doWithConnection(connection -> connection.createStatement(sql)
+                .bind("$1", 1_000)
+                .execute()
+                .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class)))
+                .subscribeOn(Schedulers.single())
+                .as(StepVerifier::create)
+                .expectNext(1_000L)
+                .expectComplete()
+                .verify(Duration.ofSeconds(10)));
+        }
+    }
+
+    @Test
+    void executeWithFetchSizeStreamsRows() {
+        TestSessionClient testClient = TestSessionClient.create();
+        CommandCache commandCache = testClient.doWithClient(SessionClient::getCommandCache);
+        int cached = commandCache.size();
+
+        // would not complete if the cross join was materialized before the first row got emitted
+        testClient.doWithConnection(connection -> connection.createStatement("SELECT a.x FROM SYSTEM_RANGE(1, 1000000) a, SYSTEM_RANGE(1, 1000000) b")
+            .fetchSize(10)
+            .execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class)))
+            .take(3)
+            .as(StepVerifier::create)
+            .expectNext(1L, 1L, 1L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(10)));
+
+        // released once the cancelled result got closed
+        assertThat(commandCache.size()).isEqualTo(cached + 1);
+
+        testClient.doWithConnection(connection -> connection.createStatement("SELECT x FROM SYSTEM_RANGE(1, 25)")
+            .fetchSize(10)
+            .execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class)))
+            .as(StepVerifier::create)
+            .expectNextCount(25)
+            .expectComplete()
+            .verify(Duration.ofSeconds(10)));
+
+        assertThat(commandCache.size()).isEqualTo(cached + 2);
+    }
+
+    @Test
+    void fetchSizeNegative() {
+        assertThatIllegalArgumentException().isThrownBy(() -> this.statement.fetchSize(-1))
+            .withMessage("fetch size must be greater or equal to zero");
+    }
+
+    @Test
+    void executeWithMaxRows() {
+        TestSessionClient testClient = TestSessionClient.create();
+
+        testClient.doWithConnection(connection -> connection.createStatement("SELECT x FROM SYSTEM_RANGE(1, 100000) ORDER BY x DESC")
+            .maxRows(3)
+            .execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class)))
+            .as(StepVerifier::create)
+            .expectNext(100000L, 99999L, 99998L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(10)));
+
+        testClient.doWithConnection(connection -> connection.createStatement("SELECT x FROM SYSTEM_RANGE(1, 100)")
+            .maxRows(25)
+            .fetchSize(10)
+            .execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class)))
+            .as(StepVerifier::create)
+            .expectNextCount(25)
+            .expectComplete()
+            .verify(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void maxRowsNegative() {
+        assertThatIllegalArgumentException().isThrownBy(() -> this.statement.maxRows(-1))
+            .withMessage("max rows must be greater or equal to zero");
+    }
+
     @Test
     void executeWithoutAdd() {
         CommandInterface command = mock(CommandInterface.class);
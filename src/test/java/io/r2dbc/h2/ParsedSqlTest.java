@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+final class ParsedSqlTest {
+
+    @Test
+    void parseNoSql() {
+        assertThatIllegalArgumentException().isThrownBy(() -> ParsedSql.parse(null))
+            .withMessage("sql must not be null");
+    }
+
+    @Test
+    void singleStatement() {
+        assertThat(ParsedSql.parse(" SELECT 1 ").getStatements()).containsExactly("SELECT 1");
+    }
+
+    @Test
+    void multipleStatements() {
+        assertThat(ParsedSql.parse("SELECT 1; SELECT 2;;\n SELECT 3;").getStatements()).containsExactly("SELECT 1", "SELECT 2", "SELECT 3");
+    }
+
+    @Test
+    void semicolonInLiteral() {
+        assertThat(ParsedSql.parse("INSERT INTO test VALUES ('a;b', 'it''s;'); SELECT 1").getStatements())
+            .containsExactly("INSERT INTO test VALUES ('a;b', 'it''s;')", "SELECT 1");
+    }
+
+    @Test
+    void semicolonInQuotedIdentifier() {
+        assertThat(ParsedSql.parse("SELECT 1 AS \"a;b\"; SELECT 1 AS `c;d`").getStatements())
+            .containsExactly("SELECT 1 AS \"a;b\"", "SELECT 1 AS `c;d`");
+    }
+
+    @Test
+    void semicolonInComments() {
+        assertThat(ParsedSql.parse("SELECT 1 -- one;\n; /* two; */ SELECT 2 // three;\n").getStatements())
+            .containsExactly("SELECT 1 -- one;", "/* two; */ SELECT 2 // three;");
+    }
+
+    @Test
+    void commentOnlyStatementsAreDropped() {
+        assertThat(ParsedSql.parse("SELECT 1; -- trailing comment").getStatements()).containsExactly("SELECT 1");
+    }
+
+    @Test
+    void semicolonInCreateAlias() {
+        String alias = "CREATE ALIAS next_prime AS $$ String nextPrime(String value) { return new java.math.BigInteger(value).nextProbablePrime().toString(); } $$";
+
+        assertThat(ParsedSql.parse(alias + "; CALL next_prime('10')").getStatements()).containsExactly(alias, "CALL next_prime('10')");
+    }
+
+    @Test
+    void parametersAreNotDollarQuotes() {
+        assertThat(ParsedSql.parse("SELECT $1; SELECT $2").getStatements()).containsExactly("SELECT $1", "SELECT $2");
+    }
+
+    @Test
+    void cachesParsedSql() {
+        String sql = "SELECT 1; SELECT 2";
+
+        assertThat(ParsedSql.parse(sql)).isSameAs(ParsedSql.parse(sql));
+    }
+
+    @Test
+    void cacheEvictsLeastRecentlyUsed() {
+        ParsedSql hot = ParsedSql.parse("SELECT 'hot'");
+        ParsedSql cold = ParsedSql.parse("SELECT 'cold'");
+
+        for (int i = 0; i < ParsedSql.CACHE_SIZE; i++) {
+            ParsedSql.parse("SELECT " + i + " AS evicting");
+            assertThat(ParsedSql.parse("SELECT 'hot'")).isSameAs(hot);
+        }
+
+        assertThat(ParsedSql.parse("SELECT 'cold'")).isNotSameAs(cold);
+    }
+
+    @Test
+    void numberedPlaceholders() {
+        ParsedSql parsed = ParsedSql.parse("SELECT * FROM test WHERE a = $2 AND b = ?1 AND c = '$3'");
+
+        assertThat(parsed.getParameterIndex("$1")).isZero();
+        assertThat(parsed.getParameterIndex("?1")).isZero();
+        assertThat(parsed.getParameterIndex("$2")).isEqualTo(1);
+        assertThat(parsed.getParameterIndex("$3")).isEqualTo(-1);
+    }
+
+    @Test
+    void namedPlaceholders() {
+        ParsedSql parsed = ParsedSql.parse("SELECT * FROM test WHERE a = :first AND b = :second OR a = :first; SELECT :second");
+
+        assertThat(parsed.getStatements()).containsExactly("SELECT * FROM test WHERE a = ?1 AND b = ?2 OR a = ?1", "SELECT ?2");
+        assertThat(parsed.getParameterIndex("first")).isZero();
+        assertThat(parsed.getParameterIndex(":first")).isZero();
+        assertThat(parsed.getParameterIndex("second")).isEqualTo(1);
+        assertThat(parsed.getParameterIndex("third")).isEqualTo(-1);
+    }
+
+    @Test
+    void namedPlaceholdersFollowNumberedOnes() {
+        ParsedSql parsed = ParsedSql.parse("SELECT * FROM test WHERE a = $1 AND b = :name");
+
+        assertThat(parsed.getStatements()).containsExactly("SELECT * FROM test WHERE a = $1 AND b = ?2");
+        assertThat(parsed.getParameterIndex("name")).isEqualTo(1);
+    }
+
+    @Test
+    void colonsThatAreNoPlaceholders() {
+        String sql = "SELECT x::VARCHAR, JSON_OBJECT('a':b), TIME '10:15:30', \":c\" FROM test -- :d";
+
+        assertThat(ParsedSql.parse(sql).getStatements()).containsExactly(sql);
+        assertThat(ParsedSql.parse(sql).getParameterIndex("VARCHAR")).isEqualTo(-1);
+        assertThat(ParsedSql.parse(sql).getParameterIndex("b")).isEqualTo(-1);
+    }
+}
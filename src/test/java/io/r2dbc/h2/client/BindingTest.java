@@ -19,6 +19,7 @@ package io.r2dbc.h2.client;
 import org.h2.value.ValueInteger;
 import org.junit.jupiter.api.Test;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 final class BindingTest {
@@ -35,4 +36,26 @@ final class BindingTest {
             .withMessage("value must not be null");
     }
 
+    @Test
+    void addNegativeIndex() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new Binding().add(-1, ValueInteger.get(0)))
+            .withMessage("index must be greater or equal to zero");
+    }
+
+    @Test
+    void addGrowsBinding() {
+        Binding binding = new Binding(1).add(2, ValueInteger.get(2)).add(0, ValueInteger.get(0));
+
+        assertThat(binding.size()).isEqualTo(3);
+        assertThat(binding.get(0)).isEqualTo(ValueInteger.get(0));
+        assertThat(binding.get(1)).isNull();
+        assertThat(binding.get(2)).isEqualTo(ValueInteger.get(2));
+        assertThat(binding.get(3)).isNull();
+    }
+
+    @Test
+    void equalsIgnoresCapacity() {
+        assertThat(new Binding(10).add(0, ValueInteger.get(1))).isEqualTo(new Binding().add(0, ValueInteger.get(1)))
+            .hasSameHashCodeAs(new Binding().add(0, ValueInteger.get(1)));
+    }
 }
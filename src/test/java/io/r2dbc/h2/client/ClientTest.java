@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2.client;
+
+import org.h2.command.CommandInterface;
+import org.h2.engine.ConnectionInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+final class ClientTest {
+
+    private final SessionClient delegate = new SessionClient(new ConnectionInfo("jdbc:h2:mem:" + UUID.randomUUID() + ";USER=sa;PASSWORD=sa;", new Properties(), null, null), false);
+
+    private final Client client = mock(Client.class, CALLS_REAL_METHODS);
+
+    @BeforeEach
+    void setUp() {
+        // only the abstract methods are backed by a session, the statement timeout goes through the defaults
+        doAnswer(invocation -> {
+            this.delegate.execute(invocation.getArgument(0));
+            return null;
+        }).when(this.client).execute(anyString());
+        doAnswer(invocation -> this.delegate.prepareCommand(invocation.getArgument(0), invocation.<List<Binding>>getArgument(1))).when(this.client).prepareCommand(anyString(), anyList());
+        doAnswer(invocation -> this.delegate.query(invocation.<CommandInterface>getArgument(0))).when(this.client).query(any());
+        doAnswer(invocation -> {
+            this.delegate.releaseCommand(invocation.getArgument(0));
+            return null;
+        }).when(this.client).releaseCommand(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.delegate.close().block();
+    }
+
+    @Test
+    void statementTimeout() {
+        assertThat(this.client.getStatementTimeout()).isEqualTo(Duration.ZERO);
+
+        this.client.setStatementTimeout(Duration.ofMillis(1500));
+
+        assertThat(this.client.getStatementTimeout()).isEqualTo(Duration.ofMillis(1500));
+    }
+
+    @Test
+    void statementTimeoutNegative() {
+        assertThatIllegalArgumentException().isThrownBy(() -> this.client.setStatementTimeout(Duration.ofMillis(-1)))
+            .withMessage("timeout must not be negative");
+    }
+}
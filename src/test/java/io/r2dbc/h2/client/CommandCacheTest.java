@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2.client;
+
+import org.h2.command.CommandInterface;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+final class CommandCacheTest {
+
+    private final CommandCache cache = new CommandCache(2);
+
+    @Test
+    void discardClosesRemoteCommand() {
+        CommandInterface command = mock(CommandInterface.class);
+
+        assertThat(this.cache.acquire("SELECT 1", sql -> command)).isSameAs(command);
+        this.cache.discard(command);
+
+        verify(command).close();
+        assertThat(this.cache.getSql(command)).isNull();
+        assertThat(this.cache.size()).isZero();
+    }
+
+    @Test
+    void invalidateClosesIdleCommands() {
+        CommandInterface first = mock(CommandInterface.class);
+        CommandInterface second = mock(CommandInterface.class);
+
+        this.cache.release(this.cache.acquire("SELECT 1", sql -> first));
+        this.cache.release(this.cache.acquire("SELECT 2", sql -> second));
+        this.cache.invalidate();
+
+        verify(first).close();
+        verify(second).close();
+        assertThat(this.cache.size()).isZero();
+    }
+
+    @Test
+    void getSqlOfLease() {
+        CommandInterface command = mock(CommandInterface.class);
+
+        this.cache.acquire("SET LOCK_TIMEOUT 10", sql -> command);
+
+        assertThat(this.cache.getSql(command)).isEqualTo("SET LOCK_TIMEOUT 10");
+    }
+}
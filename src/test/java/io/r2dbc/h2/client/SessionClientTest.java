@@ -0,0 +1,374 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2.client;
+
+import io.r2dbc.spi.R2dbcException;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.h2.api.ErrorCode;
+import org.h2.command.CommandInterface;
+import org.h2.engine.ConnectionInfo;
+import org.h2.message.DbException;
+import org.h2.result.ResultInterface;
+import org.h2.value.ValueBlob;
+import org.h2.value.ValueInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+final class SessionClientTest {
+
+    private SessionClient client = create(SessionClient.DEFAULT_COMMAND_CACHE_SIZE);
+
+    @AfterEach
+    void tearDown() {
+        this.client.close().block();
+    }
+
+    @Test
+    void reusesCachedCommand() {
+        this.client.execute("CREATE TABLE test (id INTEGER)");
+        long misses = this.client.getCommandCache().getMisses();
+
+        CommandInterface first = insert(1);
+        CommandInterface second = insert(2);
+
+        assertThat(second).isSameAs(first);
+        assertThat(this.client.getCommandCache().getMisses()).isEqualTo(misses + 1);
+        assertThat(this.client.getCommandCache().getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledCommandIsNotReused() {
+        this.client.execute("CREATE TABLE test (id INTEGER)");
+
+        CommandInterface first = this.client.prepareCommand("INSERT INTO test (id) VALUES (?)", Collections.singletonList(new Binding().add(0, ValueInteger.get(1)))).next();
+        first.cancel();
+        this.client.discardCommand(first);
+        long misses = this.client.getCommandCache().getMisses();
+
+        CommandInterface second = insert(2);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(this.client.getCommandCache().getMisses()).isEqualTo(misses + 1);
+        assertThat(count()).isEqualTo(1);
+        assertThat(insert(3)).isSameAs(second);
+    }
+
+    @Test
+    void timedOutCommandIsNotReused() {
+        String sql = "SELECT COUNT(*) FROM SYSTEM_RANGE(1, ?)";
+
+        // the timer races the execution, whichever way it goes the next execution of the same SQL must not see the cancellation
+        for (int i = 0; i < 200; i++) {
+            this.client.setStatementTimeout(Duration.ofMillis(1));
+            CommandInterface command = this.client.prepareCommand(sql, Collections.singletonList(new Binding().add(0, ValueInteger.get(i * 500)))).next();
+            try {
+                this.client.query(command).close();
+            } catch (R2dbcTimeoutException e) {
+                // expected for slow executions
+            } finally {
+                this.client.releaseCommand(command);
+            }
+
+            this.client.setStatementTimeout(Duration.ZERO);
+            CommandInterface next = this.client.prepareCommand(sql, Collections.singletonList(new Binding().add(0, ValueInteger.get(1_000)))).next();
+            try {
+                ResultInterface result = this.client.query(next);
+                result.next();
+                assertThat(result.currentRow()[0].getLong()).isEqualTo(1_000);
+            } finally {
+                this.client.releaseCommand(next);
+            }
+        }
+    }
+
+    @Test
+    void timesOutStreamedResult() throws InterruptedException {
+        this.client.setStatementTimeout(Duration.ofMillis(100));
+        CommandInterface command = this.client.prepareCommand("SELECT X FROM SYSTEM_RANGE(1, 100000000)", Collections.emptyList()).next();
+
+        try {
+            ResultInterface result = this.client.query(command, 0, 100);
+            Thread.sleep(200);
+
+            assertThatExceptionOfType(DbException.class).isThrownBy(() -> {
+                while (result.next()) {
+                    // the rows are computed while they are read
+                }
+            }).satisfies(e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.STATEMENT_WAS_CANCELED));
+            result.close();
+        } finally {
+            this.client.releaseCommand(command);
+        }
+
+        assertThat(count("SELECT COUNT(*) FROM SYSTEM_RANGE(1, 1000)")).isEqualTo(1000);
+    }
+
+    @Test
+    void timedOutStreamedResultDoesNotCancelOtherStreamedResult() throws InterruptedException {
+        this.client.setStatementTimeout(Duration.ofMillis(100));
+        CommandInterface timedOut = this.client.prepareCommand("SELECT X FROM SYSTEM_RANGE(1, 100000000)", Collections.emptyList()).next();
+        CommandInterface other = this.client.prepareCommand("SELECT X FROM SYSTEM_RANGE(1, 10000)", Collections.emptyList()).next();
+
+        try {
+            ResultInterface timedOutResult = this.client.query(timedOut, 0, 100);
+            this.client.setStatementTimeout(Duration.ZERO);
+            ResultInterface otherResult = this.client.query(other, 0, 100);
+            Thread.sleep(200);
+
+            // both results read from the same session, only the one whose timeout elapsed fails
+            assertThat(otherResult.next()).isTrue();
+            assertThatExceptionOfType(DbException.class).isThrownBy(() -> {
+                while (timedOutResult.next()) {
+                    // the rows are computed while they are read
+                }
+            }).satisfies(e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.STATEMENT_WAS_CANCELED));
+
+            long rows = 1;
+            while (otherResult.next()) {
+                rows++;
+            }
+            assertThat(rows).isEqualTo(10000);
+        } finally {
+            this.client.releaseCommand(timedOut);
+            this.client.releaseCommand(other);
+        }
+    }
+
+    @Test
+    void streamedResultReleasedBeforeTimeoutDoesNotCancelSession() throws InterruptedException {
+        this.client.setStatementTimeout(Duration.ofMillis(100));
+        CommandInterface command = this.client.prepareCommand("SELECT X FROM SYSTEM_RANGE(1, 100000000)", Collections.emptyList()).next();
+
+        try {
+            ResultInterface result = this.client.query(command, 0, 100);
+            assertThat(result.next()).isTrue();
+            result.close();
+        } finally {
+            this.client.releaseCommand(command);
+        }
+
+        Thread.sleep(200);
+        this.client.setStatementTimeout(Duration.ZERO);
+        assertThat(count("SELECT COUNT(*) FROM SYSTEM_RANGE(1, 1000)")).isEqualTo(1000);
+    }
+
+    @Test
+    void invalidatesOnSchemaChange() {
+        this.client.execute("CREATE TABLE test (id INTEGER)");
+        insert(1);
+        assertThat(this.client.getCommandCache().size()).isEqualTo(1);
+
+        this.client.execute("ALTER TABLE test ADD COLUMN name VARCHAR(255)");
+        assertThat(this.client.getCommandCache().size()).isZero();
+
+        long misses = this.client.getCommandCache().getMisses();
+        insert(2);
+
+        assertThat(this.client.getCommandCache().getMisses()).isEqualTo(misses + 1);
+    }
+
+    @Test
+    void runtimeSettingsDoNotInvalidate() {
+        this.client.execute("CREATE TABLE test (id INTEGER)");
+        insert(1);
+
+        this.client.execute("SET LOCK_TIMEOUT 500");
+        this.client.execute("SET QUERY_TIMEOUT 0");
+        this.client.execute("SET LOCK_MODE 3");
+        this.client.execute("set @counter = 1");
+        assertThat(this.client.getCommandCache().size()).isEqualTo(5);
+
+        this.client.execute("SET MODE MySQL");
+        assertThat(this.client.getCommandCache().size()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        this.client.close().block();
+        this.client = create(1);
+
+        this.client.execute("CREATE TABLE test (id INTEGER)");
+        this.client.execute("CREATE TABLE other (id INTEGER)");
+
+        insert(1);
+        execute("INSERT INTO other VALUES (1)");
+        assertThat(this.client.getCommandCache().size()).isEqualTo(1);
+
+        long misses = this.client.getCommandCache().getMisses();
+        insert(2);
+
+        assertThat(this.client.getCommandCache().getMisses()).isEqualTo(misses + 1);
+    }
+
+    @Test
+    void disabledCache() {
+        this.client.close().block();
+        this.client = create(0);
+
+        this.client.execute("CREATE TABLE test (id INTEGER)");
+
+        insert(1);
+        insert(2);
+
+        assertThat(this.client.getCommandCache().size()).isZero();
+        assertThat(this.client.getCommandCache().getHits()).isZero();
+    }
+
+    @Test
+    void unboundIndex() {
+        this.client.execute("CREATE TABLE test (id INTEGER, name VARCHAR(255))");
+
+        assertThatExceptionOfType(R2dbcException.class)
+            .isThrownBy(() -> this.client.prepareCommand("INSERT INTO test VALUES (?, ?)", Collections.singletonList(new Binding().add(1, ValueInteger.get(1)))).next())
+            .withMessageContaining("Parameter \"#1\" is not set");
+
+        assertThat(this.client.getCommandCache().size()).isEqualTo(1);
+    }
+
+    @Test
+    void transactionControlBypassesCommandCache() {
+        this.client.execute("CREATE TABLE test (id INTEGER)");
+        long misses = this.client.getCommandCache().getMisses();
+
+        this.client.disableAutoCommit();
+        insert(1);
+        this.client.commit();
+        insert(2);
+        this.client.rollback();
+        insert(3);
+        this.client.rollback();
+        this.client.enableAutoCommit();
+
+        assertThat(count()).isEqualTo(1);
+        assertThat(this.client.getCommandCache().getMisses()).isEqualTo(misses + 2);
+    }
+
+    @Test
+    void savepoints() {
+        this.client.execute("CREATE TABLE test (id INTEGER)");
+        this.client.disableAutoCommit();
+
+        insert(1);
+        this.client.createSavepoint("sp");
+        insert(2);
+        this.client.rollbackToSavepoint("sp");
+        this.client.releaseSavepoint("sp");
+        long hits = this.client.getCommandCache().getHits();
+
+        this.client.createSavepoint("sp");
+        insert(3);
+        this.client.rollbackToSavepoint("sp");
+        this.client.commit();
+        this.client.enableAutoCommit();
+
+        assertThat(count()).isEqualTo(1);
+        assertThat(this.client.getCommandCache().getHits()).isEqualTo(hits + 3);
+    }
+
+    @Test
+    void releasesTemporaryLobs() {
+        this.client.execute("CREATE TABLE lobs (data BLOB)");
+        this.client.disableAutoCommit();
+
+        ValueBlob lob = this.client.getSession().getDataHandler().getLobStorage().createBlob(new ByteArrayInputStream(new byte[1024]), -1);
+        CommandInterface command = this.client.prepareCommand("INSERT INTO lobs VALUES (?)", Collections.singletonList(new Binding().add(0, lob))).next();
+
+        assertThat(this.client.getTemporaryLobs().getOutstanding()).isEqualTo(1);
+
+        this.client.update(command, false);
+        this.client.releaseCommand(command);
+
+        assertThat(this.client.getTemporaryLobs().getOutstanding()).isZero();
+        assertThat(this.client.getTemporaryLobs().getReleased()).isEqualTo(1);
+
+        CommandInterface query = this.client.prepareCommand("SELECT OCTET_LENGTH(data) FROM lobs", Collections.emptyList()).next();
+        try {
+            ResultInterface result = this.client.query(query);
+            result.next();
+            assertThat(result.currentRow()[0].getLong()).isEqualTo(1024);
+        } finally {
+            this.client.releaseCommand(query);
+        }
+
+        this.client.commit();
+        this.client.enableAutoCommit();
+    }
+
+    @Test
+    void ignoresInMemoryLobs() {
+        this.client.execute("CREATE TABLE lobs (data BLOB)");
+
+        CommandInterface command = this.client.prepareCommand("INSERT INTO lobs VALUES (?)", Collections.singletonList(new Binding().add(0, ValueBlob.createSmall(new byte[16])))).next();
+        this.client.update(command, false);
+        this.client.releaseCommand(command);
+
+        assertThat(this.client.getTemporaryLobs().getOutstanding()).isZero();
+        assertThat(this.client.getTemporaryLobs().getReleased()).isZero();
+    }
+
+    private long count() {
+        return count("SELECT COUNT(*) FROM test");
+    }
+
+    private long count(String sql) {
+        CommandInterface command = this.client.prepareCommand(sql, Collections.emptyList()).next();
+
+        try {
+            ResultInterface result = this.client.query(command);
+            result.next();
+            return result.currentRow()[0].getLong();
+        } finally {
+            this.client.releaseCommand(command);
+        }
+    }
+
+    private CommandInterface insert(int value) {
+        CommandInterface command = this.client.prepareCommand("INSERT INTO test (id) VALUES (?)", Collections.singletonList(new Binding().add(0, ValueInteger.get(value)))).next();
+
+        try {
+            this.client.update(command, false);
+        } finally {
+            this.client.releaseCommand(command);
+        }
+
+        return command;
+    }
+
+    private void execute(String sql) {
+        CommandInterface command = this.client.prepareCommand(sql, Collections.emptyList()).next();
+
+        try {
+            this.client.update(command, false);
+        } finally {
+            this.client.releaseCommand(command);
+        }
+    }
+
+    private static SessionClient create(int commandCacheSize) {
+        ConnectionInfo connectionInfo = new ConnectionInfo("jdbc:h2:mem:" + UUID.randomUUID() + ";USER=sa;PASSWORD=sa;", new Properties(), null, null);
+        return new SessionClient(connectionInfo, false, commandCacheSize);
+    }
+}
@@ -16,20 +16,28 @@
 
 package io.r2dbc.h2.codecs;
 
-import io.r2dbc.h2.client.Client;
 import io.r2dbc.spi.Blob;
 import org.h2.value.Value;
 import org.h2.value.ValueBlob;
 import org.h2.value.ValueNull;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
-import static org.mockito.Mockito.mock;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 final class BlobCodecTest {
 
@@ -37,7 +45,7 @@ final class BlobCodecTest {
 
     @Test
     void decode() {
-        Flux.from(new BlobCodec(mock(Client.class)).decode(ValueBlob.createSmall(TEST_BYTES), Blob.class).stream())
+        Flux.from(new BlobCodec().decode(ValueBlob.createSmall(TEST_BYTES), Blob.class).stream())
             .as(StepVerifier::create)
             .expectNextMatches(byteBuffer -> {
                 assertThat(Arrays.copyOfRange(byteBuffer.array(), 0, byteBuffer.remaining())).isEqualTo(TEST_BYTES);
@@ -46,14 +54,96 @@ final class BlobCodecTest {
             .verifyComplete();
     }
 
+    @Test
+    void decodeChunked() {
+        H2Blob blob = (H2Blob) new BlobCodec().decode(ValueBlob.createSmall(TEST_BYTES), Blob.class);
+
+        Flux.from(blob.stream(2))
+            .map(BlobCodecTest::toString)
+            .as(StepVerifier::create)
+            .expectNext("He", "ll", "o")
+            .verifyComplete();
+    }
+
+    @Test
+    void decodeRecycled() {
+        H2Blob blob = (H2Blob) new BlobCodec().decode(ValueBlob.createSmall(TEST_BYTES), Blob.class);
+        Set<byte[]> arrays = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        Flux.from(blob.stream(2, true))
+            .doOnNext(byteBuffer -> arrays.add(byteBuffer.array()))
+            .map(byteBuffer -> {
+                String chunk = toString(byteBuffer);
+                blob.release(byteBuffer);
+                return chunk;
+            })
+            .as(StepVerifier::create)
+            .expectNext("He", "ll", "o")
+            .verifyComplete();
+
+        assertThat(arrays).hasSize(1);
+    }
+
+    @Test
+    void decodeRecycledWithoutRelease() {
+        H2Blob blob = (H2Blob) new BlobCodec().decode(ValueBlob.createSmall(TEST_BYTES), Blob.class);
+
+        // chunks that are not released are never refilled, even when downstream holds on to them
+        Flux.from(blob.stream(2, true))
+            .collectList()
+            .map(chunks -> chunks.stream().map(BlobCodecTest::toString).collect(Collectors.toList()))
+            .as(StepVerifier::create)
+            .expectNext(Arrays.asList("He", "ll", "o"))
+            .verifyComplete();
+    }
+
+    @Test
+    void decodeReadsOnScheduler() {
+        Scheduler scheduler = Schedulers.newSingle("blob-codec-test");
+
+        try {
+            Flux.from(new BlobCodec().decode(ValueBlob.createSmall(TEST_BYTES), Blob.class, null, scheduler).stream())
+                .map(byteBuffer -> Thread.currentThread().getName())
+                .as(StepVerifier::create)
+                .expectNextMatches(name -> name.startsWith("blob-codec-test"))
+                .verifyComplete();
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    void decodeWithoutSchedulerReadsOnBoundedElastic() {
+        Flux.from(new BlobCodec().decode(ValueBlob.createSmall(TEST_BYTES), Blob.class, null, Schedulers.immediate()).stream())
+            .map(byteBuffer -> Thread.currentThread().getName())
+            .as(StepVerifier::create)
+            .expectNextMatches(name -> name.startsWith("boundedElastic"))
+            .verifyComplete();
+    }
+
+    @Test
+    void decodeInvalidChunkSize() {
+        H2Blob blob = (H2Blob) new BlobCodec().decode(ValueBlob.createSmall(TEST_BYTES), Blob.class);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> blob.stream(0))
+            .withMessage("chunkSize must be greater than zero");
+    }
+
+    @Test
+    void discardWithoutStream() {
+        Flux.from(new BlobCodec().decode(ValueBlob.createSmall(TEST_BYTES), Blob.class).discard())
+            .as(StepVerifier::create)
+            .verifyComplete();
+    }
+
     @Test
     void decodeNull() {
-        assertThat(new BlobCodec(mock(Client.class)).doDecode(null, Blob.class)).isNull();
+        assertThat(new BlobCodec().doDecode(null, Blob.class)).isNull();
     }
 
     @Test
     void doCanDecode() {
-        BlobCodec codec = new BlobCodec(mock(Client.class));
+        BlobCodec codec = new BlobCodec();
 
         assertThat(codec.doCanDecode(Value.BLOB)).isTrue();
         assertThat(codec.doCanDecode(Value.CLOB)).isFalse();
@@ -63,13 +153,28 @@ final class BlobCodecTest {
     @Test
     void doEncodeNoValue() {
         assertThatIllegalArgumentException().isThrownBy(() -> {
-            new BlobCodec(mock(Client.class)).doEncode(null);
+            new BlobCodec().doEncode(null);
         }).withMessage("value must not be null");
     }
 
+    @Test
+    void collectAvailableContent() {
+        assertThat(AbstractSessionCodec.collectAvailable(Flux.just(ByteBuffer.wrap(TEST_BYTES), ByteBuffer.wrap(TEST_BYTES)))).hasSize(2);
+    }
+
+    @Test
+    void collectContentNotAvailable() {
+        // content that would have to be waited for is rejected instead of blocking the thread
+        assertThatIllegalStateException().isThrownBy(() -> AbstractSessionCodec.collectAvailable(Mono.never()));
+    }
+
     @Test
     void encodeNull() {
-        assertThat(new BlobCodec(mock(Client.class)).encodeNull())
+        assertThat(new BlobCodec().encodeNull())
             .isEqualTo(ValueNull.INSTANCE);
     }
+
+    private static String toString(ByteBuffer byteBuffer) {
+        return StandardCharsets.UTF_8.decode(byteBuffer).toString();
+    }
 }
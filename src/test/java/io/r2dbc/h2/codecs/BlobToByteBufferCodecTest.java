@@ -16,17 +16,24 @@
 
 package io.r2dbc.h2.codecs;
 
-import io.r2dbc.h2.client.Client;
+import org.h2.engine.Constants;
+import org.h2.engine.Session;
+import org.h2.store.DataHandler;
 import org.h2.value.Value;
 import org.h2.value.ValueBlob;
 import org.h2.value.ValueNull;
+import org.h2.value.lob.LobDataInMemory;
 import org.junit.jupiter.api.Test;
 
 import java.nio.ByteBuffer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 final class BlobToByteBufferCodecTest {
 
@@ -35,34 +42,52 @@ final class BlobToByteBufferCodecTest {
     @Test
     void decode() {
 
-        ByteBuffer decoded = new BlobToByteBufferCodec(mock(Client.class)).decode(ValueBlob.createSmall(TEST_BYTES), ByteBuffer.class);
+        ByteBuffer decoded = new BlobToByteBufferCodec().decode(ValueBlob.createSmall(TEST_BYTES), ByteBuffer.class);
         assertThat(decoded).isEqualTo(ByteBuffer.wrap(TEST_BYTES));
+        assertThat(decoded.isReadOnly()).isTrue();
     }
 
     @Test
     void decodeNull() {
-        assertThat(new BlobToByteBufferCodec(mock(Client.class)).doDecode(null, ByteBuffer.class)).isNull();
+        assertThat(new BlobToByteBufferCodec().doDecode(null, ByteBuffer.class)).isNull();
     }
 
     @Test
     void doCanDecode() {
-        BlobToByteBufferCodec codec = new BlobToByteBufferCodec(mock(Client.class));
+        BlobToByteBufferCodec codec = new BlobToByteBufferCodec();
 
         assertThat(codec.doCanDecode(Value.BLOB)).isTrue();
         assertThat(codec.doCanDecode(Value.CLOB)).isFalse();
         assertThat(codec.doCanDecode(Value.INTEGER)).isFalse();
     }
 
+    @Test
+    void encodeSmall() {
+        Session session = mock(Session.class);
+        DataHandler dataHandler = mock(DataHandler.class);
+        when(session.getDataHandler()).thenReturn(dataHandler);
+        when(dataHandler.getMaxLengthInplaceLob()).thenReturn(Constants.DEFAULT_MAX_LENGTH_INPLACE_LOB);
+
+        ByteBuffer buffer = ByteBuffer.wrap(TEST_BYTES);
+        Value encoded = new BlobToByteBufferCodec().encode(buffer, session);
+
+        assertThat(encoded).isInstanceOf(ValueBlob.class);
+        assertThat(((ValueBlob) encoded).getLobData()).isInstanceOf(LobDataInMemory.class);
+        assertThat(encoded.getBytesNoCopy()).isEqualTo(TEST_BYTES);
+        assertThat(buffer.position()).isZero();
+        verify(session, never()).addTemporaryLob(any());
+    }
+
     @Test
     void doEncodeNoValue() {
         assertThatIllegalArgumentException().isThrownBy(() -> {
-            new BlobToByteBufferCodec(mock(Client.class)).doEncode(null);
+            new BlobToByteBufferCodec().doEncode(null);
         }).withMessage("value must not be null");
     }
 
     @Test
     void encodeNull() {
-        assertThat(new BlobToByteBufferCodec(mock(Client.class)).encodeNull())
+        assertThat(new BlobToByteBufferCodec().encodeNull())
             .isEqualTo(ValueNull.INSTANCE);
     }
 }
@@ -16,20 +16,19 @@
 
 package io.r2dbc.h2.codecs;
 
-import io.r2dbc.h2.client.Client;
 import io.r2dbc.spi.Clob;
 import org.h2.value.Value;
 import org.h2.value.ValueClob;
 import org.h2.value.ValueNull;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
-import static org.mockito.Mockito.mock;
 
 final class ClobCodecTest {
 
@@ -38,20 +37,36 @@ final class ClobCodecTest {
 
     @Test
     void decode() {
-        Flux.from(new ClobCodec(mock(Client.class)).decode(ValueClob.createSmall(TEST_BYTES), Clob.class).stream())
+        Flux.from(new ClobCodec().decode(ValueClob.createSmall(TEST_BYTES), Clob.class).stream())
             .as(StepVerifier::create)
             .expectNext(TEST)
             .verifyComplete();
     }
 
+    @Test
+    void decodeWithoutSchedulerReadsOnBoundedElastic() {
+        Flux.from(new ClobCodec().decode(ValueClob.createSmall(TEST_BYTES), Clob.class, null, Schedulers.immediate()).stream())
+            .map(chunk -> Thread.currentThread().getName())
+            .as(StepVerifier::create)
+            .expectNextMatches(name -> name.startsWith("boundedElastic"))
+            .verifyComplete();
+    }
+
+    @Test
+    void discardWithoutStream() {
+        Flux.from(new ClobCodec().decode(ValueClob.createSmall(TEST_BYTES), Clob.class).discard())
+            .as(StepVerifier::create)
+            .verifyComplete();
+    }
+
     @Test
     void decodeNull() {
-        assertThat(new ClobCodec(mock(Client.class)).doDecode(null, Clob.class)).isNull();
+        assertThat(new ClobCodec().doDecode(null, Clob.class)).isNull();
     }
 
     @Test
     void doCanDecode() {
-        ClobCodec codec = new ClobCodec(mock(Client.class));
+        ClobCodec codec = new ClobCodec();
 
         assertThat(codec.doCanDecode(Value.CLOB)).isTrue();
         assertThat(codec.doCanDecode(Value.BLOB)).isFalse();
@@ -61,13 +76,13 @@ final class ClobCodecTest {
     @Test
     void doEncodeNoValue() {
         assertThatIllegalArgumentException().isThrownBy(() -> {
-            new ClobCodec(mock(Client.class)).doEncode(null);
+            new ClobCodec().doEncode(null);
         }).withMessage("value must not be null");
     }
 
     @Test
     void encodeNull() {
-        assertThat(new ClobCodec(mock(Client.class)).encodeNull())
+        assertThat(new ClobCodec().encodeNull())
             .isEqualTo(ValueNull.INSTANCE);
     }
 }
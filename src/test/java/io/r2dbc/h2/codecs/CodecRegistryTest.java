@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.h2.codecs;
+
+import io.r2dbc.h2.client.Client;
+import org.h2.value.Value;
+import org.h2.value.ValueInteger;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.*;
+
+final class CodecRegistryTest {
+
+    @Test
+    void addOptionalCodecsGeometry() throws Exception {
+        ClassLoader mockClassLoader = mock(ClassLoader.class);
+        willReturn(Object.class)
+            .given(mockClassLoader)
+            .loadClass(eq("org.locationtech.jts.geom.Geometry"));
+
+        Codec<?> result = CodecRegistry.addOptionalCodecs(mockClassLoader)
+            .findFirst()
+            .get();
+
+        assertThat(result).isExactlyInstanceOf(GeometryCodec.class);
+    }
+
+    @Test
+    void addOptionalCodecsGeometryNotFound() throws Exception {
+        ClassLoader mockClassLoader = mock(ClassLoader.class);
+        willThrow(new ClassNotFoundException())
+            .given(mockClassLoader)
+            .loadClass(eq("org.locationtech.jts.geom.Geometry"));
+
+        long result = CodecRegistry.addOptionalCodecs(mockClassLoader).count();
+
+        assertThat(result).isEqualTo(0L);
+    }
+
+    @Test
+    void createCodecsWithNonOptionalCodecsAndNoDuplicates() throws Exception {
+        ClassLoader mockClassLoader = mock(ClassLoader.class);
+        willThrow(new ClassNotFoundException())
+            .given(mockClassLoader)
+            .loadClass(any());
+
+        Stream<Class<?>> result = CodecRegistry.createCodecs(mockClassLoader, null)
+            .stream()
+            .map(Codec::getClass);
+
+        assertThat(result).containsOnlyOnce(
+            BigDecimalCodec.class,
+            BlobToByteBufferCodec.class,
+            BlobCodec.class,
+            BooleanCodec.class,
+            ByteCodec.class,
+            BytesCodec.class,
+            ClobCodec.class,
+            DoubleCodec.class,
+            FloatCodec.class,
+            IntegerCodec.class,
+            JsonCodec.class,
+            LocalDateCodec.class,
+            LocalDateTimeCodec.class,
+            LocalTimeCodec.class,
+            LongCodec.class,
+            ShortCodec.class,
+            StringCodec.class,
+            UuidCodec.class,
+            ZonedDateTimeCodec.class,
+            InstantCodec.class,
+            ArrayCodec.class
+        );
+    }
+
+    @Test
+    void createCodecsWithOptionalCodecsAndNoDuplicates() throws Exception {
+        ClassLoader mockClassLoader = mock(ClassLoader.class);
+        willReturn(Object.class)
+            .given(mockClassLoader)
+            .loadClass(eq("org.locationtech.jts.geom.Geometry"));
+
+        Stream<Class<?>> result = CodecRegistry.createCodecs(mockClassLoader, null)
+            .stream()
+            .map(Codec::getClass);
+
+        assertThat(result).containsOnlyOnce(
+            BigDecimalCodec.class,
+            BlobToByteBufferCodec.class,
+            BlobCodec.class,
+            BooleanCodec.class,
+            ByteCodec.class,
+            BytesCodec.class,
+            ClobCodec.class,
+            DoubleCodec.class,
+            FloatCodec.class,
+            GeometryCodec.class,
+            IntegerCodec.class,
+            JsonCodec.class,
+            LocalDateCodec.class,
+            LocalDateTimeCodec.class,
+            LocalTimeCodec.class,
+            LongCodec.class,
+            ShortCodec.class,
+            StringCodec.class,
+            UuidCodec.class,
+            ZonedDateTimeCodec.class,
+            InstantCodec.class,
+            ArrayCodec.class
+        );
+    }
+
+    @Test
+    void isPresent() {
+        assertThat(CodecRegistry.isPresent(this.getClass().getClassLoader(), "java.lang.Boolean")).isTrue();
+    }
+
+    @Test
+    void isPresentNotFound() {
+        assertThat(CodecRegistry.isPresent(this.getClass().getClassLoader(), "java.lang.Boolean123456789")).isFalse();
+    }
+
+    @Test
+    void constructorNoClassLoader() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new CodecRegistry(null))
+            .withMessage("classLoader must not be null");
+    }
+
+    @Test
+    void sharedBetweenConnections() {
+        CodecRegistry registry = new CodecRegistry(getClass().getClassLoader());
+
+        DefaultCodecs first = new DefaultCodecs(mock(Client.class), registry);
+        DefaultCodecs second = new DefaultCodecs(mock(Client.class), registry);
+
+        assertThat(first.decode(ValueInteger.get(100), Value.INTEGER, Integer.class)).isEqualTo(100);
+        assertThat(second.encode(100)).isEqualTo(ValueInteger.get(100));
+        assertThat(registry.findDecoder(Value.INTEGER, Integer.class)).isInstanceOf(IntegerCodec.class);
+    }
+}
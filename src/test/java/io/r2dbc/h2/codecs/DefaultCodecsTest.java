@@ -17,48 +17,21 @@
 package io.r2dbc.h2.codecs;
 
 import io.r2dbc.h2.client.Client;
+import io.r2dbc.spi.Parameters;
 import org.h2.value.Value;
+import org.h2.value.ValueArray;
 import org.h2.value.ValueGeometry;
 import org.h2.value.ValueInteger;
 import org.h2.value.ValueNull;
 import org.junit.jupiter.api.Test;
 
-import java.util.stream.Stream;
-
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.*;
 
 final class DefaultCodecsTest {
 
-    @Test
-    void addOptionalCodecsGeometry() throws Exception {
-        ClassLoader mockClassLoader = mock(ClassLoader.class);
-        willReturn(Object.class)
-            .given(mockClassLoader)
-            .loadClass(eq("org.locationtech.jts.geom.Geometry"));
-
-        Codec<?> result = DefaultCodecs.addOptionalCodecs(mockClassLoader)
-            .findFirst()
-            .get();
-
-        assertThat(result).isExactlyInstanceOf(GeometryCodec.class);
-    }
-
-    @Test
-    void addOptionalCodecsGeometryNotFound() throws Exception {
-        ClassLoader mockClassLoader = mock(ClassLoader.class);
-        willThrow(new ClassNotFoundException())
-            .given(mockClassLoader)
-            .loadClass(eq("org.locationtech.jts.geom.Geometry"));
-
-        long result = DefaultCodecs.addOptionalCodecs(mockClassLoader).count();
-
-        assertThat(result).isEqualTo(0L);
-    }
-
     @Test
     void canDecodeGeometry() throws Exception {
         ClassLoader mockClassLoader = mock(ClassLoader.class);
@@ -73,82 +46,42 @@ final class DefaultCodecsTest {
     }
 
     @Test
-    void createCodecsWithNonOptionalCodecsAndNoDuplicates() throws Exception {
-        ClassLoader mockClassLoader = mock(ClassLoader.class);
-        willThrow(new ClassNotFoundException())
-            .given(mockClassLoader)
-            .loadClass(any());
-
-        Stream<Class<?>> result = DefaultCodecs.createCodecs(mock(Client.class), mockClassLoader, null)
-            .stream()
-            .map(Codec::getClass);
-
-        assertThat(result).containsOnlyOnce(
-            BigDecimalCodec.class,
-            BlobToByteBufferCodec.class,
-            BlobCodec.class,
-            BooleanCodec.class,
-            ByteCodec.class,
-            BytesCodec.class,
-            ClobCodec.class,
-            DoubleCodec.class,
-            FloatCodec.class,
-            IntegerCodec.class,
-            JsonCodec.class,
-            LocalDateCodec.class,
-            LocalDateTimeCodec.class,
-            LocalTimeCodec.class,
-            LongCodec.class,
-            ShortCodec.class,
-            StringCodec.class,
-            UuidCodec.class,
-            ZonedDateTimeCodec.class,
-            InstantCodec.class,
-            ArrayCodec.class
-        );
+    void decode() {
+        assertThat(new DefaultCodecs(mock(Client.class)).decode(ValueInteger.get(100), Value.INTEGER, Integer.class))
+            .isEqualTo(100);
     }
 
     @Test
-    void createCodecsWithOptionalCodecsAndNoDuplicates() throws Exception {
-        ClassLoader mockClassLoader = mock(ClassLoader.class);
-        willReturn(Object.class)
-            .given(mockClassLoader)
-            .loadClass(eq("org.locationtech.jts.geom.Geometry"));
+    void cachedLookupsKeepPriority() {
+        DefaultCodecs codecs = new DefaultCodecs(mock(Client.class));
+        Value array = ValueArray.get(new Value[]{ValueInteger.get(1), ValueInteger.get(2)}, null);
 
-        Stream<Class<?>> result = DefaultCodecs.createCodecs(mock(Client.class), mockClassLoader, null)
-            .stream()
-            .map(Codec::getClass);
-
-        assertThat(result).containsOnlyOnce(
-            BigDecimalCodec.class,
-            BlobToByteBufferCodec.class,
-            BlobCodec.class,
-            BooleanCodec.class,
-            ByteCodec.class,
-            BytesCodec.class,
-            ClobCodec.class,
-            DoubleCodec.class,
-            FloatCodec.class,
-            GeometryCodec.class,
-            IntegerCodec.class,
-            JsonCodec.class,
-            LocalDateCodec.class,
-            LocalDateTimeCodec.class,
-            LocalTimeCodec.class,
-            LongCodec.class,
-            ShortCodec.class,
-            StringCodec.class,
-            UuidCodec.class,
-            ZonedDateTimeCodec.class,
-            InstantCodec.class,
-            ArrayCodec.class
-        );
+        for (int i = 0; i < 2; i++) {
+            assertThat(codecs.decode(ValueInteger.get(100), Value.INTEGER, Object.class)).isEqualTo(100);
+            assertThat(codecs.decode(array, Value.ARRAY, Object.class)).isEqualTo(new Object[]{1, 2});
+            assertThat(codecs.encode(new Integer[]{1, 2})).isEqualTo(array);
+            assertThat(codecs.encode(Parameters.in(100))).isEqualTo(ValueInteger.get(100));
+            assertThat(codecs.encodeNull(Integer.class)).isEqualTo(ValueNull.INSTANCE);
+            assertThat(codecs.preferredType(Value.INTEGER)).isEqualTo(Integer.class);
+            assertThat(codecs.preferredType(Value.ARRAY)).isEqualTo(Object[].class);
+        }
     }
 
     @Test
-    void decode() {
-        assertThat(new DefaultCodecs(mock(Client.class)).decode(ValueInteger.get(100), Value.INTEGER, Integer.class))
-            .isEqualTo(100);
+    void decoder() {
+        Codecs.Decoder<Integer> decoder = new DefaultCodecs(mock(Client.class)).decoder(Value.INTEGER, Integer.class);
+
+        assertThat(decoder.decode(ValueInteger.get(100))).isEqualTo(100);
+        assertThat(decoder.decode(ValueNull.INSTANCE)).isNull();
+    }
+
+    @Test
+    void decoderUnsupportedType() {
+        Codecs.Decoder<Void> decoder = new DefaultCodecs(mock(Client.class)).decoder(Value.INTEGER, Void.class);
+
+        assertThat(decoder.decode(null)).isNull();
+        assertThatIllegalArgumentException().isThrownBy(() -> decoder.decode(ValueInteger.get(100)))
+            .withMessage("Cannot decode value of type java.lang.Void");
     }
 
     @Test
@@ -212,14 +145,4 @@ final class DefaultCodecsTest {
         assertThatIllegalArgumentException().isThrownBy(() -> new DefaultCodecs(mock(Client.class)).encode(new Object()))
             .withMessage("Cannot encode parameter of type java.lang.Object");
     }
-
-    @Test
-    void isPresent() {
-        assertThat(DefaultCodecs.isPresent(this.getClass().getClassLoader(), "java.lang.Boolean")).isTrue();
-    }
-
-    @Test
-    void isPresentNotFound() {
-        assertThat(DefaultCodecs.isPresent(this.getClass().getClassLoader(), "java.lang.Boolean123456789")).isFalse();
-    }
 }
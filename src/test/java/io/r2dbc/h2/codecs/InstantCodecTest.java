@@ -35,21 +35,32 @@ import static org.mockito.Mockito.when;
 
 final class InstantCodecTest {
 
-    private Client client;
+    private Session session;
     private InstantCodec instantCodec;
 
     @BeforeEach
     void setUp() {
-        this.client = mock(Client.class);
-        when(this.client.getSession()).thenReturn(mock(Session.class));
-        instantCodec = new InstantCodec(client);
+        this.session = mock(Session.class);
+        instantCodec = new InstantCodec();
     }
 
     @Test
     void decode() {
         ValueTimestampTimeZone valueTimestamp = ValueTimestampTimeZone.parse("2018-10-31 11:59:59+05:00", null);
 
-        Instant instant = instantCodec.decode(valueTimestamp, Instant.class);
+        Instant instant = instantCodec.decode(valueTimestamp, Instant.class, this.session);
+
+        assertThat(instant).isEqualTo(LocalDateTime.of(2018, 10, 31, 11, 59, 59).toInstant(ZoneOffset.ofHours(5)));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void decodeWithClientSession() {
+        Client client = mock(Client.class);
+        when(client.getSession()).thenReturn(this.session);
+        ValueTimestampTimeZone valueTimestamp = ValueTimestampTimeZone.parse("2018-10-31 11:59:59+05:00", null);
+
+        Instant instant = new InstantCodec(client).decode(valueTimestamp, Instant.class);
 
         assertThat(instant).isEqualTo(LocalDateTime.of(2018, 10, 31, 11, 59, 59).toInstant(ZoneOffset.ofHours(5)));
     }
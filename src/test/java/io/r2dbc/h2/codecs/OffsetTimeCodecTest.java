@@ -1,6 +1,5 @@
 package io.r2dbc.h2.codecs;
 
-import io.r2dbc.h2.client.Client;
 import org.h2.engine.Session;
 import org.h2.value.Value;
 import org.h2.value.ValueNull;
@@ -14,30 +13,27 @@ import java.time.ZoneOffset;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 final class OffsetTimeCodecTest {
 
-    private Client client;
+    private Session session;
 
     @BeforeEach
     void setUp() {
-        this.client = mock(Client.class);
-
-        when(this.client.getSession()).thenReturn(mock(Session.class));
+        this.session = mock(Session.class);
     }
 
     @Test
     void decode() {
-        assertThat(new OffsetTimeCodec(client).decode(ValueTimeTimeZone.parse("23:59:59.999999999Z", null), OffsetTime.class))
+        assertThat(new OffsetTimeCodec().decode(ValueTimeTimeZone.parse("23:59:59.999999999Z", null), OffsetTime.class, this.session))
             .isEqualTo(OffsetTime.of(23, 59, 59, 999999999, ZoneOffset.UTC));
-        assertThat(new OffsetTimeCodec(client).decode(ValueTimeTimeZone.parse("10:20:30+02", null), OffsetTime.class))
+        assertThat(new OffsetTimeCodec().decode(ValueTimeTimeZone.parse("10:20:30+02", null), OffsetTime.class, this.session))
             .isEqualTo(OffsetTime.of(10, 20, 30, 0, ZoneOffset.ofHours(2)));
     }
 
     @Test
     void doCanDecode() {
-        OffsetTimeCodec codec = new OffsetTimeCodec(client);
+        OffsetTimeCodec codec = new OffsetTimeCodec();
 
         assertThat(codec.doCanDecode(Value.TIME_TZ)).isTrue();
         assertThat(codec.doCanDecode(Value.TIME)).isFalse();
@@ -47,20 +43,20 @@ final class OffsetTimeCodecTest {
 
     @Test
     void doEncode() {
-        assertThat(new OffsetTimeCodec(client).doEncode(OffsetTime.of(23, 59, 59, 999999999, ZoneOffset.UTC)))
+        assertThat(new OffsetTimeCodec().doEncode(OffsetTime.of(23, 59, 59, 999999999, ZoneOffset.UTC)))
             .isEqualTo(ValueTimeTimeZone.parse("23:59:59.999999999Z", null));
-        assertThat(new OffsetTimeCodec(client).doEncode(OffsetTime.of(10, 20, 30, 0, ZoneOffset.ofHours(2))))
+        assertThat(new OffsetTimeCodec().doEncode(OffsetTime.of(10, 20, 30, 0, ZoneOffset.ofHours(2))))
             .isEqualTo(ValueTimeTimeZone.parse("10:20:30+02", null));
     }
 
     @Test
     void doEncodeNoValue() {
-        assertThatIllegalArgumentException().isThrownBy(() -> new OffsetTimeCodec(client).doEncode(null))
+        assertThatIllegalArgumentException().isThrownBy(() -> new OffsetTimeCodec().doEncode(null))
             .withMessage("value must not be null");
     }
 
     @Test
     void encodeNull() {
-        assertThat(new OffsetTimeCodec(client).encodeNull()).isEqualTo(ValueNull.INSTANCE);
+        assertThat(new OffsetTimeCodec().encodeNull()).isEqualTo(ValueNull.INSTANCE);
     }
 }
@@ -28,10 +28,11 @@ import java.util.Arrays;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
-import static org.mockito.Mockito.mock;
 
 final class ParameterIntegerCodecTest {
 
+    private final CodecRegistry codecs = new CodecRegistry(getClass().getClassLoader());
+
     private final Parameter[] TEST_ARRAY = {Parameters.in(1), Parameters.in(2), Parameters.in(3)};
 
     @Test
@@ -39,26 +40,20 @@ final class ParameterIntegerCodecTest {
         Value[] values = Arrays.stream(TEST_ARRAY).map(Parameter::getValue).map(o -> (Integer) o).map(ValueInteger::get).toArray(Value[]::new);
         ValueArray valueArray = ValueArray.get(values, null);
 
-        MockCodecs codecs = MockCodecs.builder()
-            .decoding(ValueInteger.get((Integer) TEST_ARRAY[0].getValue()), Value.INTEGER, Object.class, TEST_ARRAY[0])
-            .decoding(ValueInteger.get((Integer) TEST_ARRAY[1].getValue()), Value.INTEGER, Object.class, TEST_ARRAY[1])
-            .decoding(ValueInteger.get((Integer) TEST_ARRAY[2].getValue()), Value.INTEGER, Object.class, TEST_ARRAY[2])
-            .build();
-
-        Object[] decoded = new ArrayCodec(codecs).decode(valueArray, Integer[].class);
+        Object[] decoded = new ArrayCodec(this.codecs).decode(valueArray, Integer[].class);
 
-        assertThat(decoded).containsExactlyElementsOf(Arrays.asList(TEST_ARRAY));
+        assertThat(decoded).containsExactly(1, 2, 3);
 
     }
 
     @Test
     void decodeNull() {
-        assertThat(new ArrayCodec(mock(Codecs.class)).decode(null, String[].class)).isNull();
+        assertThat(new ArrayCodec(this.codecs).decode(null, String[].class)).isNull();
     }
 
     @Test
     void doCanDecode() {
-        ArrayCodec codec = new ArrayCodec(mock(Codecs.class));
+        ArrayCodec codec = new ArrayCodec(this.codecs);
         assertThat(codec.doCanDecode(Value.ARRAY)).isTrue();
         assertThat(codec.doCanDecode(Value.INTEGER)).isFalse();
         assertThat(codec.doCanDecode(Value.JAVA_OBJECT)).isFalse();
@@ -67,25 +62,19 @@ final class ParameterIntegerCodecTest {
     @Test
     void doEncodeNoValue() {
         assertThatIllegalArgumentException()
-            .isThrownBy(() -> new ArrayCodec(mock(Codecs.class)).doEncode(null))
+            .isThrownBy(() -> new ArrayCodec(this.codecs).doEncode(null))
             .withMessage("value must not be null");
     }
 
     @Test
     void encodeNull() {
-        assertThat(new ArrayCodec(mock(Codecs.class)).encodeNull())
+        assertThat(new ArrayCodec(this.codecs).encodeNull())
             .isEqualTo(ValueNull.INSTANCE);
     }
 
     @Test
     void encode() {
-        MockCodecs codecs = MockCodecs.builder()
-            .encoding(TEST_ARRAY[0], ValueInteger.get((Integer) TEST_ARRAY[0].getValue()))
-            .encoding(TEST_ARRAY[1], ValueInteger.get((Integer) TEST_ARRAY[1].getValue()))
-            .encoding(TEST_ARRAY[2], ValueInteger.get((Integer) TEST_ARRAY[2].getValue()))
-            .build();
-
-        Value value = new ArrayCodec(codecs).doEncode(TEST_ARRAY);
+        Value value = new ArrayCodec(this.codecs).doEncode(TEST_ARRAY);
         assertThat(value).isInstanceOf(ValueArray.class);
 
         Value[] list = ((ValueArray) value).getList();
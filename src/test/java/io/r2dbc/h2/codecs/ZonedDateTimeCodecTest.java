@@ -1,6 +1,5 @@
 package io.r2dbc.h2.codecs;
 
-import io.r2dbc.h2.client.Client;
 import org.h2.engine.Session;
 import org.h2.value.Value;
 import org.h2.value.ValueNull;
@@ -14,28 +13,25 @@ import java.time.ZonedDateTime;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 final class ZonedDateTimeCodecTest {
 
-    private Client client;
+    private Session session;
 
     @BeforeEach
     void setUp() {
-        this.client = mock(Client.class);
-
-        when(this.client.getSession()).thenReturn(mock(Session.class));
+        this.session = mock(Session.class);
     }
 
     @Test
     void decode() {
-        assertThat(new ZonedDateTimeCodec(client).doDecode(ValueTimestampTimeZone.parse("2018-10-31 11:59:59+05:00", null), ZonedDateTime.class))
+        assertThat(new ZonedDateTimeCodec().doDecode(ValueTimestampTimeZone.parse("2018-10-31 11:59:59+05:00", null), ZonedDateTime.class, this.session))
             .isEqualTo(ZonedDateTime.of(2018, 10, 31, 11, 59, 59, 0, ZoneOffset.ofHours(5)));
     }
 
     @Test
     void doCanDecode() {
-        ZonedDateTimeCodec codec = new ZonedDateTimeCodec(client);
+        ZonedDateTimeCodec codec = new ZonedDateTimeCodec();
 
         assertThat(codec.doCanDecode(Value.TIMESTAMP_TZ)).isTrue();
         assertThat(codec.doCanDecode(Value.UNKNOWN)).isFalse();
@@ -44,19 +40,19 @@ final class ZonedDateTimeCodecTest {
 
     @Test
     void doEncode() {
-        assertThat(new ZonedDateTimeCodec(client).doEncode(ZonedDateTime.of(2018, 10, 31, 11, 59, 59, 0, ZoneOffset.ofHours(5))))
+        assertThat(new ZonedDateTimeCodec().doEncode(ZonedDateTime.of(2018, 10, 31, 11, 59, 59, 0, ZoneOffset.ofHours(5))))
             .isEqualTo(ValueTimestampTimeZone.parse("2018-10-31 11:59:59+05:00", null));
     }
 
     @Test
     void doEncodeNoValue() {
-        assertThatIllegalArgumentException().isThrownBy(() -> new ZonedDateTimeCodec(client).doEncode(null))
+        assertThatIllegalArgumentException().isThrownBy(() -> new ZonedDateTimeCodec().doEncode(null))
             .withMessage("value must not be null");
     }
 
     @Test
     void encodeNull() {
-        assertThat(new ZonedDateTimeCodec(client).encodeNull())
+        assertThat(new ZonedDateTimeCodec().encodeNull())
             .isEqualTo(ValueNull.INSTANCE);
     }
 }